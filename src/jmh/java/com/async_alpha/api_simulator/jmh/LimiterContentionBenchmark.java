@@ -0,0 +1,63 @@
+package com.async_alpha.api_simulator.jmh;
+
+import com.async_alpha.api_simulator.limiter.*;
+import com.async_alpha.api_simulator.model.ClientRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decision throughput of the limiters when every benchmark thread hammers the
+ * same client, comparing the lock-based token bucket with the CAS-based ones.
+ * The refill rate is high enough that nearly every request is allowed, so every
+ * decision has to write the shared client state. Vary the thread count with
+ * {@code -t}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LimiterContentionBenchmark {
+
+    private static final int CAPACITY = 10_000;
+    private static final int REFILL_PER_SECOND = 1_000_000_000;
+
+    @Param({"token-bucket", "atomic-token-bucket", "gcra"})
+    private String limiter;
+
+    private RateLimiter rateLimiter;
+    private int hotClient;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        rateLimiter = create(limiter);
+        hotClient = ClientRegistry.getDefault().intern("JMH_HOT_CLIENT");
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return rateLimiter.tryAcquire(hotClient, System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean tryAcquireContended() {
+        return rateLimiter.tryAcquire(hotClient, System.nanoTime());
+    }
+
+    private static RateLimiter create(String name) {
+        switch (name) {
+            case "token-bucket":
+                return new TokenBucketLimiter(CAPACITY, REFILL_PER_SECOND, Duration.ofSeconds(1));
+            case "atomic-token-bucket":
+                return new AtomicTokenBucketLimiter(CAPACITY, REFILL_PER_SECOND, Duration.ofSeconds(1));
+            case "gcra":
+                return new GcraLimiter(REFILL_PER_SECOND, Duration.ofSeconds(1));
+            default:
+                throw new IllegalArgumentException("Unknown limiter: " + name);
+        }
+    }
+}
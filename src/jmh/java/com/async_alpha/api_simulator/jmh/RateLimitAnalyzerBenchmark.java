@@ -0,0 +1,58 @@
+package com.async_alpha.api_simulator.jmh;
+
+import com.async_alpha.api_simulator.model.AbuseReport;
+import com.async_alpha.api_simulator.model.RequestLog;
+import com.async_alpha.api_simulator.policy.RatePolicy;
+import com.async_alpha.api_simulator.service.RateLimitAnalyzer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimitAnalyzer#analyze} with all five policies over a history of
+ * {@code logSize} requests, from one thread and from every core at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitAnalyzerBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int logSize;
+
+    private RateLimitAnalyzer analyzer;
+    private RequestLog log;
+
+    @Setup
+    public void setup() {
+        List<RatePolicy> policies = List.of(
+            RatePolicyBenchmark.create("fixed-window"),
+            RatePolicyBenchmark.create("sliding-window"),
+            RatePolicyBenchmark.create("burst-detection"),
+            RatePolicyBenchmark.create("abnormal-pattern"),
+            RatePolicyBenchmark.create("retry-abuse")
+        );
+        analyzer = new RateLimitAnalyzer(policies);
+        log = Traces.requestLog("JMH_CLIENT", logSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        analyzer.close();
+    }
+
+    @Benchmark
+    public AbuseReport analyze() {
+        return analyzer.analyze(log);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AbuseReport analyzeConcurrently() {
+        return analyzer.analyze(log);
+    }
+}
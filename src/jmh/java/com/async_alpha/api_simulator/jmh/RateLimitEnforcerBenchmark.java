@@ -0,0 +1,105 @@
+package com.async_alpha.api_simulator.jmh;
+
+import com.async_alpha.api_simulator.limiter.*;
+import com.async_alpha.api_simulator.model.*;
+import com.async_alpha.api_simulator.service.RateLimitEnforcer;
+import com.async_alpha.api_simulator.service.RequestLogger;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RateLimitEnforcer#processRequest} and {@link RateLimitEnforcer#getRemainingQuota}
+ * for each limiter, after every benchmark thread's client already has
+ * {@code logSize} requests behind it. Each thread is its own client, so the
+ * contended variants measure shared-structure overhead rather than one hot lock.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitEnforcerBenchmark {
+
+    private static final int MAX_REQUESTS = 100;
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+    // just below the allowed rate, so almost every request is allowed and logged
+    private static final long GAP_NANOS = WINDOW.toNanos() / MAX_REQUESTS + 1_000_000;
+
+    private static final AtomicInteger NEXT_CLIENT = new AtomicInteger();
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int logSize;
+
+    @Param({"sliding-log", "token-bucket", "atomic-token-bucket", "gcra", "sliding-window-counter"})
+    private String limiter;
+
+    private RateLimitEnforcer enforcer;
+
+    /** Fresh enforcer per iteration, so the log growth of one does not leak into the next. */
+    @Setup(Level.Iteration)
+    public void setup() {
+        enforcer = new RateLimitEnforcer(create(limiter), new RequestLogger());
+    }
+
+    @State(Scope.Thread)
+    public static class ClientState {
+        private Client client;
+        private long now;
+
+        @Setup(Level.Iteration)
+        public void setup(RateLimitEnforcerBenchmark benchmark) {
+            if (client == null) {
+                String clientId = "JMH_CLIENT_" + NEXT_CLIENT.getAndIncrement();
+                client = ClientRegistry.getDefault().register(clientId, clientId);
+            }
+
+            // history ends at the current wall-clock time, so quota lookups see it
+            now = EpochTime.nowNanos() - benchmark.logSize * GAP_NANOS;
+            for (int i = 0; i < benchmark.logSize; i++) {
+                next(benchmark.enforcer);
+            }
+        }
+
+        RateLimitEnforcer.RequestResult next(RateLimitEnforcer enforcer) {
+            now += GAP_NANOS;
+            return enforcer.processRequest(new ServiceRequest(client, RequestType.READ, EpochTime.fromNanos(now)));
+        }
+    }
+
+    @Benchmark
+    public RateLimitEnforcer.RequestResult processRequest(ClientState state) {
+        return state.next(enforcer);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public RateLimitEnforcer.RequestResult processRequestConcurrently(ClientState state) {
+        return state.next(enforcer);
+    }
+
+    @Benchmark
+    public int getRemainingQuota(ClientState state) {
+        return enforcer.getRemainingQuota(state.client.getClientId());
+    }
+
+    private static RateLimiter create(String name) {
+        switch (name) {
+            case "sliding-log":
+                return new SlidingLogLimiter(MAX_REQUESTS, WINDOW);
+            case "token-bucket":
+                return new TokenBucketLimiter(MAX_REQUESTS, MAX_REQUESTS, WINDOW);
+            case "atomic-token-bucket":
+                return new AtomicTokenBucketLimiter(MAX_REQUESTS, MAX_REQUESTS, WINDOW);
+            case "gcra":
+                return new GcraLimiter(MAX_REQUESTS, WINDOW);
+            case "sliding-window-counter":
+                return new SlidingWindowCounterLimiter(MAX_REQUESTS, WINDOW);
+            default:
+                throw new IllegalArgumentException("Unknown limiter: " + name);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.async_alpha.api_simulator.jmh;
+
+import com.async_alpha.api_simulator.model.AbuseReport;
+import com.async_alpha.api_simulator.model.RequestLog;
+import com.async_alpha.api_simulator.policy.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one full {@link RatePolicy#evaluate} over a client history of
+ * {@code logSize} requests, for every policy with the dashboard's settings.
+ * Run with {@code -prof gc} for allocation per evaluation and {@code -t} for
+ * concurrent evaluations of the same log.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RatePolicyBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int logSize;
+
+    @Param({"fixed-window", "sliding-window", "burst-detection", "abnormal-pattern", "retry-abuse"})
+    private String policy;
+
+    private RatePolicy ratePolicy;
+    private RequestLog log;
+
+    @Setup
+    public void setup() {
+        ratePolicy = create(policy);
+        log = Traces.requestLog("JMH_CLIENT", logSize);
+    }
+
+    @Benchmark
+    public AbuseReport evaluate() {
+        AbuseReport report = new AbuseReport(log.getClientId());
+        ratePolicy.evaluate(log, report);
+        return report;
+    }
+
+    static RatePolicy create(String name) {
+        switch (name) {
+            case "fixed-window":
+                return new FixedWindowPolicy(5, Duration.ofSeconds(10));
+            case "sliding-window":
+                return new SlidingWindowPolicy(5, Duration.ofSeconds(10));
+            case "burst-detection":
+                return new BurstDetectionPolicy(4, Duration.ofSeconds(3));
+            case "abnormal-pattern":
+                return new AbnormalPatternPolicy(3);
+            case "retry-abuse":
+                return new RetryAbusePolicy(8, Duration.ofSeconds(2));
+            default:
+                throw new IllegalArgumentException("Unknown policy: " + name);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.async_alpha.api_simulator.jmh;
+
+import com.async_alpha.api_simulator.limiter.SlidingLogLimiter;
+import com.async_alpha.api_simulator.limiter.SlidingWindowCounterLimiter;
+import com.async_alpha.api_simulator.model.ClientRegistry;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * Measures how far the two-counter estimate of {@link SlidingWindowCounterLimiter}
+ * is from the exact sliding-log answer on a bursty synthetic trace: the error of
+ * the estimated in-window count, and how often the two algorithms decide differently.
+ *
+ * Usage: SlidingWindowCounterAccuracy [requests]
+ */
+public class SlidingWindowCounterAccuracy {
+
+    private static final int MAX_REQUESTS = 100;
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    public static void main(String[] args) {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long windowNanos = WINDOW.toNanos();
+
+        SlidingWindowCounterLimiter approximate = new SlidingWindowCounterLimiter(MAX_REQUESTS, WINDOW);
+        SlidingLogLimiter exact = new SlidingLogLimiter(MAX_REQUESTS, WINDOW);
+        ArrayDeque<Long> allowedByApproximate = new ArrayDeque<>();
+        int client = ClientRegistry.getDefault().intern("c");
+
+        Random random = new Random(42);
+        long now = 0;
+        double totalError = 0;
+        double maxError = 0;
+        int disagreements = 0;
+        int falseBlocks = 0;
+
+        for (int i = 0; i < requests; i++) {
+            // alternate quiet and flooding phases of one window each
+            boolean flooding = (now / windowNanos) % 2 == 0;
+            long meanGap = flooding ? windowNanos / (MAX_REQUESTS * 3) : windowNanos / (MAX_REQUESTS / 2);
+            now += (long) (-Math.log(1 - random.nextDouble()) * meanGap);
+
+            while (!allowedByApproximate.isEmpty() && now - allowedByApproximate.peekFirst() > windowNanos) {
+                allowedByApproximate.pollFirst();
+            }
+            double error = Math.abs(approximate.estimateCount(client, now) - allowedByApproximate.size());
+            totalError += error;
+            maxError = Math.max(maxError, error);
+
+            boolean approximateAllowed = approximate.tryAcquire(client, now);
+            boolean exactAllowed = exact.tryAcquire(client, now);
+            if (approximateAllowed) {
+                allowedByApproximate.addLast(now);
+            }
+            if (approximateAllowed != exactAllowed) {
+                disagreements++;
+                if (exactAllowed) {
+                    falseBlocks++;
+                }
+            }
+        }
+
+        System.out.printf("%d requests, limit %d per %ds%n", requests, MAX_REQUESTS, WINDOW.getSeconds());
+        System.out.printf("Count error:    mean %.2f, max %.2f requests (%.1f%% of limit)%n",
+            totalError / requests, maxError, maxError * 100 / MAX_REQUESTS);
+        System.out.printf("Disagreements:  %d (%.3f%%), of which %d blocked where exact allowed%n",
+            disagreements, disagreements * 100.0 / requests, falseBlocks);
+    }
+}
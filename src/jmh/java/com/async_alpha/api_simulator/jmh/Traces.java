@@ -0,0 +1,35 @@
+package com.async_alpha.api_simulator.jmh;
+
+import com.async_alpha.api_simulator.model.EpochTime;
+import com.async_alpha.api_simulator.model.RequestLog;
+import com.async_alpha.api_simulator.model.RequestType;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic request histories shared by the benchmarks.
+ */
+final class Traces {
+
+    static final long START_NANOS = EpochTime.toNanos(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+    private static final RequestType[] TYPES = RequestType.values();
+    private static final long MEAN_GAP_NANOS = 500_000_000L;
+
+    private Traces() {
+    }
+
+    /** Poisson arrivals averaging two requests per second, with random types. */
+    static RequestLog requestLog(String clientId, int size) {
+        Random random = new Random(42);
+        RequestLog log = new RequestLog(clientId);
+        long time = START_NANOS;
+
+        for (int i = 0; i < size; i++) {
+            time += (long) (-Math.log(1 - random.nextDouble()) * MEAN_GAP_NANOS);
+            log.add(time, TYPES[random.nextInt(TYPES.length)]);
+        }
+        return log;
+    }
+}
@@ -0,0 +1,60 @@
+package com.async_alpha.api_simulator.io;
+
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+/**
+ * On-disk layout of a request journal directory, shared by
+ * {@link JournalWriter} and {@link JournalReader}.
+ *
+ * <pre>
+ * clients.txt          journal client ids, one per line; line n is client n
+ * segment-000000.rlj   64-byte header followed by fixed-width records
+ *
+ * header:  int magic, int version, long recordCount (-1 while open),
+ *          long minEpochNanos, long maxEpochNanos, reserved up to 64 bytes
+ * record:  int client, long epochNanos, byte requestType ordinal (13 bytes)
+ * </pre>
+ * All numbers are little-endian. A segment that was never sealed is still
+ * readable; its record count is derived from the file size.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x524C4A31; // "RLJ1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 13;
+    static final int RECORD_NANOS_OFFSET = 4;
+    static final int RECORD_TYPE_OFFSET = 12;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int COUNT_OFFSET = 8;
+    static final int MIN_NANOS_OFFSET = 16;
+    static final int MAX_NANOS_OFFSET = 24;
+
+    static final String CLIENTS_FILE = "clients.txt";
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".rlj";
+
+    static final int MAX_RECORDS_PER_SEGMENT = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    private JournalFormat() {
+    }
+
+    static Path segmentPath(Path directory, int number) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    /** Segment number encoded in the file name, or -1 for other files. */
+    static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.async_alpha.api_simulator.io;
+
+import com.async_alpha.api_simulator.model.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.async_alpha.api_simulator.io.JournalFormat.*;
+
+/**
+ * Replays a journal written by {@link JournalWriter}. Segments are
+ * memory-mapped and records are handed out as primitives, so replaying a
+ * trace against several policy configurations costs little more than reading
+ * the files. Segment headers are read up front and serve as an index: replays
+ * restricted to a time range skip segments that lie entirely outside it.
+ */
+public class JournalReader {
+
+    private static final RequestType[] TYPES = RequestType.values();
+
+    /** Receives replayed records; the client index refers to the reader's {@link ClientRegistry}. */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void onRecord(int clientIndex, long epochNanos, RequestType requestType);
+    }
+
+    private final ClientRegistry registry;
+    private final int[] clientIndices;
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * Reads the client dictionary and every segment header of the journal.
+     */
+    public JournalReader(Path directory) throws IOException {
+        this(directory, ClientRegistry.getDefault());
+    }
+
+    /**
+     * Reads the client dictionary and every segment header of the journal,
+     * registering the journal's clients in {@code registry}.
+     */
+    public JournalReader(Path directory, ClientRegistry registry) throws IOException {
+        this.registry = registry;
+        List<String> clientIds = Files.readAllLines(directory.resolve(CLIENTS_FILE), StandardCharsets.UTF_8);
+        clientIndices = new int[clientIds.size()];
+        for (int i = 0; i < clientIndices.length; i++) {
+            clientIndices[i] = registry.intern(clientIds.get(i));
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                .filter(file -> segmentNumber(file) >= 0)
+                .sorted(Comparator.comparingInt(JournalFormat::segmentNumber))
+                .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            segments.add(Segment.open(file));
+        }
+    }
+
+    public long getRecordCount() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.recordCount;
+        }
+        return count;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public ClientRegistry getRegistry() {
+        return registry;
+    }
+
+    public int getClientCount() {
+        return clientIndices.length;
+    }
+
+    /** Replays every record in journal order. */
+    public void replay(RecordHandler handler) throws IOException {
+        replay(Long.MIN_VALUE, Long.MAX_VALUE, handler);
+    }
+
+    /**
+     * Replays the records with {@code fromNanos <= epochNanos < toNanos}, in
+     * journal order.
+     */
+    public void replay(long fromNanos, long toNanos, RecordHandler handler) throws IOException {
+        for (Segment segment : segments) {
+            if (segment.recordCount == 0 || segment.maxNanos < fromNanos || segment.minNanos >= toNanos) {
+                continue;
+            }
+
+            boolean filter = segment.minNanos < fromNanos || segment.maxNanos >= toNanos;
+            MappedByteBuffer records = segment.map();
+            int end = HEADER_SIZE + (int) segment.recordCount * RECORD_SIZE;
+
+            for (int position = HEADER_SIZE; position < end; position += RECORD_SIZE) {
+                long time = records.getLong(position + RECORD_NANOS_OFFSET);
+                if (filter && (time < fromNanos || time >= toNanos)) {
+                    continue;
+                }
+                handler.onRecord(clientIndices[records.getInt(position)], time, TYPES[records.get(position + RECORD_TYPE_OFFSET)]);
+            }
+        }
+    }
+
+    /** Replays every record as a request object, e.g. into {@code enforcer::processRequest}. */
+    public void replayRequests(Consumer<ServiceRequest> sink) throws IOException {
+        replay((clientIndex, epochNanos, requestType) -> sink.accept(new ServiceRequest(
+            registry.getClient(clientIndex),
+            requestType,
+            EpochTime.fromNanos(epochNanos)
+        )));
+    }
+
+    private static class Segment {
+        private final Path file;
+        private final long recordCount;
+        private final long minNanos;
+        private final long maxNanos;
+
+        private Segment(Path file, long recordCount, long minNanos, long maxNanos) {
+            this.file = file;
+            this.recordCount = recordCount;
+            this.minNanos = minNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        static Segment open(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+                while (header.hasRemaining()) {
+                    if (channel.read(header, header.position()) < 0) {
+                        break;
+                    }
+                }
+                if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                    throw new IOException("Not a request journal segment: " + file);
+                }
+                if (header.getInt(4) != VERSION) {
+                    throw new IOException("Unsupported journal version " + header.getInt(4) + " in " + file);
+                }
+
+                long recordCount = header.getLong(COUNT_OFFSET);
+                if (recordCount < 0) {
+                    // never sealed: trust the complete records on disk, time range unknown
+                    recordCount = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+                    return new Segment(file, recordCount, Long.MIN_VALUE, Long.MAX_VALUE);
+                }
+                if (HEADER_SIZE + recordCount * RECORD_SIZE > channel.size()) {
+                    throw new IOException("Journal segment is shorter than its " + recordCount + " records: " + file);
+                }
+                return new Segment(file, recordCount, header.getLong(MIN_NANOS_OFFSET), header.getLong(MAX_NANOS_OFFSET));
+            }
+        }
+
+        MappedByteBuffer map() throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    HEADER_SIZE + recordCount * RECORD_SIZE);
+                buffer.order(ORDER);
+                return buffer;
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.async_alpha.api_simulator.io;
+
+import com.async_alpha.api_simulator.model.*;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.async_alpha.api_simulator.io.JournalFormat.*;
+
+/**
+ * Appends requests to a journal directory in the fixed-width binary format of
+ * {@link JournalFormat}. Records are buffered and written through a
+ * {@link FileChannel}; a new segment is started every {@code recordsPerSegment}
+ * records. Opening an existing journal continues it in a new segment.
+ *
+ * Client ids are written to the dictionary before any record that refers to
+ * them reaches the disk, so a crash never leaves records with unknown clients.
+ */
+public class JournalWriter implements Closeable {
+
+    private static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 20;
+    private static final int BUFFER_RECORDS = 4_096;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final ClientRegistry registry;
+    private final ClientLongTable journalIds = new ClientLongTable(-1);
+    private final BufferedWriter clients;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE).order(ORDER);
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+    private int clientCount = 0;
+    private int nextSegment;
+    private FileChannel segment;
+    private long segmentRecords;
+    private long minNanos;
+    private long maxNanos;
+
+    public JournalWriter(Path directory) throws IOException {
+        this(directory, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    public JournalWriter(Path directory, ClientRegistry registry) throws IOException {
+        this(directory, DEFAULT_RECORDS_PER_SEGMENT, registry);
+    }
+
+    public JournalWriter(Path directory, int recordsPerSegment) throws IOException {
+        this(directory, recordsPerSegment, ClientRegistry.getDefault());
+    }
+
+    /** @param registry registry whose indices are passed to {@link #append(int, long, RequestType)} */
+    public JournalWriter(Path directory, int recordsPerSegment, ClientRegistry registry) throws IOException {
+        if (recordsPerSegment < 1 || recordsPerSegment > MAX_RECORDS_PER_SEGMENT) {
+            throw new IllegalArgumentException("recordsPerSegment must be between 1 and " + MAX_RECORDS_PER_SEGMENT);
+        }
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        this.registry = registry;
+
+        Files.createDirectories(directory);
+        Path clientsFile = directory.resolve(CLIENTS_FILE);
+        if (Files.exists(clientsFile)) {
+            List<String> existing = Files.readAllLines(clientsFile, StandardCharsets.UTF_8);
+            for (String clientId : existing) {
+                journalIds.set(registry.intern(clientId), clientCount++);
+            }
+        }
+        clients = Files.newBufferedWriter(clientsFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            nextSegment = files.mapToInt(JournalFormat::segmentNumber).max().orElse(-1) + 1;
+        }
+    }
+
+    public void append(ServiceRequest request) throws IOException {
+        append(request.getClientIndex(registry), EpochTime.toNanos(request.getTimestamp()), request.getRequestType());
+    }
+
+    public synchronized void append(int clientIndex, long epochNanos, RequestType requestType) throws IOException {
+        int client = journalId(clientIndex);
+
+        if (segment == null || segmentRecords == recordsPerSegment) {
+            rollSegment();
+        }
+        if (!buffer.hasRemaining()) {
+            writeBuffer();
+        }
+
+        buffer.putInt(client).putLong(epochNanos).put((byte) requestType.ordinal());
+        segmentRecords++;
+        minNanos = Math.min(minNanos, epochNanos);
+        maxNanos = Math.max(maxNanos, epochNanos);
+    }
+
+    /** Writes buffered records to the current segment; they are readable afterwards. */
+    public synchronized void flush() throws IOException {
+        clients.flush();
+        if (segment != null) {
+            writeBuffer();
+        }
+    }
+
+    /** Flushes and seals the current segment. */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sealSegment();
+        } finally {
+            clients.close();
+        }
+    }
+
+    private int journalId(int clientIndex) throws IOException {
+        long id = journalIds.get(clientIndex);
+        if (id >= 0) {
+            return (int) id;
+        }
+
+        String clientId = registry.getClientId(clientIndex);
+        if (clientId.indexOf('\n') >= 0 || clientId.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Client id contains a line break: " + clientId);
+        }
+
+        clients.write(clientId);
+        clients.newLine();
+        clients.flush();
+        journalIds.set(clientIndex, clientCount);
+        return clientCount++;
+    }
+
+    private void rollSegment() throws IOException {
+        sealSegment();
+
+        segment = FileChannel.open(segmentPath(directory, nextSegment++),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentRecords = 0;
+        minNanos = Long.MAX_VALUE;
+        maxNanos = Long.MIN_VALUE;
+        writeHeader(-1);
+    }
+
+    private void sealSegment() throws IOException {
+        if (segment == null) {
+            return;
+        }
+
+        clients.flush();
+        writeBuffer();
+        writeHeader(segmentRecords);
+        segment.close();
+        segment = null;
+    }
+
+    private void writeHeader(long recordCount) throws IOException {
+        header.clear();
+        header.putInt(MAGIC).putInt(VERSION).putLong(recordCount).putLong(minNanos).putLong(maxNanos);
+        while (header.hasRemaining()) {
+            header.put((byte) 0);
+        }
+        header.flip();
+
+        while (header.hasRemaining()) {
+            segment.write(header, header.position());
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        long position = HEADER_SIZE + (segmentRecords - buffer.remaining() / RECORD_SIZE) * (long) RECORD_SIZE;
+        while (buffer.hasRemaining()) {
+            position += segment.write(buffer, position);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,545 @@
+package com.async_alpha.api_simulator.io;
+
+import com.async_alpha.api_simulator.model.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Imports recorded requests from JSON Lines files, one flat object per line:
+ * <pre>{"clientId":"CLIENT_1","requestType":"READ","timestamp":"2024-01-01T10:15:30.250"}</pre>
+ * Other keys are ignored; lines that cannot be read are counted and skipped.
+ *
+ * The file is memory-mapped in fixed-size chunks that are parsed in parallel.
+ * A chunk owns every line that starts inside it, so chunk edges never split a
+ * record. Parsed chunks hold only primitive columns and are delivered to the
+ * sink one at a time in file order, which keeps each client's requests in
+ * order for the enforcer and the logger. At most two chunks per parser thread
+ * are held in memory, whatever the file size.
+ */
+public class JsonlRequestImporter {
+
+    private static final long DEFAULT_CHUNK_SIZE = 64L << 20;
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+    private static final int MAX_LINE_LENGTH = 1 << 20;
+    private static final RequestType[] TYPES = RequestType.values();
+    private static final byte[][] TYPE_NAMES = new byte[TYPES.length][];
+    private static final byte[] CLIENT_ID = "clientId".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] REQUEST_TYPE = "requestType".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TIMESTAMP = "timestamp".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        for (int i = 0; i < TYPES.length; i++) {
+            TYPE_NAMES[i] = TYPES[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final int parallelism;
+    private final long chunkSize;
+    private final ClientRegistry registry;
+
+    public JsonlRequestImporter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public JsonlRequestImporter(int parallelism) {
+        this(parallelism, ClientRegistry.getDefault());
+    }
+
+    public JsonlRequestImporter(int parallelism, ClientRegistry registry) {
+        this(parallelism, DEFAULT_CHUNK_SIZE, registry);
+    }
+
+    public JsonlRequestImporter(int parallelism, long chunkSize) {
+        this(parallelism, chunkSize, ClientRegistry.getDefault());
+    }
+
+    /**
+     * @param parallelism number of parser threads
+     * @param chunkSize   bytes mapped and parsed per task, at most 1 GiB
+     * @param registry    registry the imported clients are registered in
+     */
+    public JsonlRequestImporter(int parallelism, long chunkSize, ClientRegistry registry) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.registry = registry;
+    }
+
+    /**
+     * Streams every request in {@code file} into {@code sink}, e.g.
+     * {@code logger::logRequest} or {@code enforcer::processRequest}. The sink is
+     * called from the calling thread only.
+     */
+    public Summary importFile(Path file, Consumer<ServiceRequest> sink) throws IOException {
+        long start = System.nanoTime();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ExecutorService parsers = Executors.newFixedThreadPool(parallelism);
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+            long imported = 0;
+            long skipped = 0;
+            long next = 0;
+
+            try {
+                while (next < size || !pending.isEmpty()) {
+                    while (next < size && pending.size() < parallelism * 2) {
+                        long from = next;
+                        long to = Math.min(size, from + chunkSize);
+                        pending.addLast(parsers.submit(() -> parse(channel, from, to, size)));
+                        next = to;
+                    }
+
+                    Chunk chunk = pending.removeFirst().get();
+                    chunk.deliver(sink);
+                    imported += chunk.size;
+                    skipped += chunk.skipped;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import of " + file + " interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException("Failed to parse " + file, e.getCause());
+            } finally {
+                parsers.shutdownNow();
+            }
+
+            return new Summary(imported, skipped, size, System.nanoTime() - start);
+        }
+    }
+
+    /** Parses the lines starting in {@code [from, to)}, reading past {@code to} to finish the last one. */
+    private Chunk parse(FileChannel channel, long from, long to, long size) throws IOException {
+        long mapStart = from == 0 ? 0 : from - 1;
+        long mapEnd = Math.min(size, to + MAX_LINE_LENGTH);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+        int limit = (int) (to - mapStart);
+        int position = 0;
+
+        if (from > 0) {
+            // the previous chunk owns the line that crosses into this one
+            while (position < buffer.limit() && buffer.get(position) != '\n') {
+                position++;
+            }
+            position++;
+        }
+
+        Chunk chunk = new Chunk();
+        LineParser parser = new LineParser(buffer, chunk);
+        while (position < limit) {
+            int end = position;
+            while (end < buffer.limit() && buffer.get(end) != '\n') {
+                end++;
+            }
+            if (end == buffer.limit() && mapEnd < size) {
+                throw new IOException("Line at offset " + (mapStart + position)
+                    + " is longer than " + MAX_LINE_LENGTH + " bytes");
+            }
+
+            parser.parse(position, end);
+            position = end + 1;
+        }
+        return chunk;
+    }
+
+    /** Requests of one chunk, stored column-wise until they are delivered. */
+    private class Chunk {
+        private int[] clients = new int[1024];
+        private long[] epochNanos = new long[1024];
+        private byte[] types = new byte[1024];
+        private int size = 0;
+        private int skipped = 0;
+
+        void add(int clientIndex, long time, int type) {
+            if (size == clients.length) {
+                clients = Arrays.copyOf(clients, size * 2);
+                epochNanos = Arrays.copyOf(epochNanos, size * 2);
+                types = Arrays.copyOf(types, size * 2);
+            }
+            clients[size] = clientIndex;
+            epochNanos[size] = time;
+            types[size] = (byte) type;
+            size++;
+        }
+
+        void deliver(Consumer<ServiceRequest> sink) {
+            for (int i = 0; i < size; i++) {
+                sink.accept(new ServiceRequest(
+                    registry.getClient(clients[i]),
+                    TYPES[types[i]],
+                    EpochTime.fromNanos(epochNanos[i])
+                ));
+            }
+        }
+    }
+
+    /**
+     * Minimal reader for flat JSON objects with string, number and literal
+     * values. Consecutive lines of the same client skip the registry lookup.
+     */
+    private class LineParser {
+        private final MappedByteBuffer buffer;
+        private final Chunk chunk;
+        private byte[] lastClientId = new byte[0];
+        private int lastClientIndex = -1;
+        private int position;
+        private int end;
+        private int valueStart;
+        private int valueEnd;
+        private boolean escaped;
+
+        LineParser(MappedByteBuffer buffer, Chunk chunk) {
+            this.buffer = buffer;
+            this.chunk = chunk;
+        }
+
+        void parse(int from, int to) {
+            position = from;
+            end = to;
+
+            skipWhitespace();
+            if (position == end) {
+                return; // blank line
+            }
+
+            try {
+                readRecord();
+            } catch (IllegalArgumentException | DateTimeException e) {
+                chunk.skipped++;
+            }
+        }
+
+        private void readRecord() {
+            // the client id is interned only once the whole line has been validated
+            int clientStart = -1;
+            int clientEnd = -1;
+            boolean clientEscaped = false;
+            int type = -1;
+            long time = Long.MIN_VALUE;
+
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                throw new IllegalArgumentException("empty object");
+            }
+
+            while (true) {
+                skipWhitespace();
+                readString();
+                int keyStart = valueStart;
+                int keyEnd = valueEnd;
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+
+                if (matches(keyStart, keyEnd, CLIENT_ID)) {
+                    readString();
+                    clientStart = valueStart;
+                    clientEnd = valueEnd;
+                    clientEscaped = escaped;
+                } else if (matches(keyStart, keyEnd, REQUEST_TYPE)) {
+                    readString();
+                    type = requestType();
+                } else if (matches(keyStart, keyEnd, TIMESTAMP)) {
+                    readString();
+                    time = timestamp();
+                } else {
+                    skipValue();
+                }
+
+                skipWhitespace();
+                byte next = next();
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw new IllegalArgumentException("expected ',' or '}'");
+                }
+            }
+
+            skipWhitespace();
+            if (position != end) {
+                throw new IllegalArgumentException("trailing characters");
+            }
+            if (clientStart < 0 || type < 0 || time == Long.MIN_VALUE) {
+                throw new IllegalArgumentException("missing field");
+            }
+            chunk.add(clientIndex(clientStart, clientEnd, clientEscaped), time, type);
+        }
+
+        /** Leaves the raw bytes between the quotes in {@code valueStart..valueEnd}. */
+        private void readString() {
+            expect('"');
+            valueStart = position;
+            escaped = false;
+            while (true) {
+                byte b = next();
+                if (b == '"') {
+                    break;
+                }
+                if (b == '\\') {
+                    escaped = true;
+                    next();
+                }
+            }
+            valueEnd = position - 1;
+        }
+
+        /** Skips a value of an ignored key, including nested objects and arrays. */
+        private void skipValue() {
+            int depth = 0;
+            do {
+                byte b = peek();
+                if (b == '"') {
+                    readString();
+                    continue;
+                }
+                if (depth == 0 && (b == ',' || b == '}')) {
+                    return;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                }
+                position++;
+            } while (depth > 0 || position < end);
+        }
+
+        private int clientIndex(int from, int to, boolean escaped) {
+            if (!escaped && to - from == lastClientId.length && matches(from, to, lastClientId)) {
+                return lastClientIndex;
+            }
+
+            String clientId = escaped ? unescape(from, to) : string(from, to, StandardCharsets.UTF_8);
+            if (clientId.isEmpty()) {
+                throw new IllegalArgumentException("empty clientId");
+            }
+
+            lastClientIndex = registry.intern(clientId);
+            lastClientId = escaped ? new byte[0] : bytes(from, to);
+            return lastClientIndex;
+        }
+
+        private int requestType() {
+            for (int i = 0; i < TYPE_NAMES.length; i++) {
+                if (matches(valueStart, valueEnd, TYPE_NAMES[i])) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("unknown request type");
+        }
+
+        /**
+         * Fast path for {@code yyyy-MM-ddTHH:mm:ss[.fraction]}; anything else goes
+         * through {@link LocalDateTime#parse}.
+         */
+        private long timestamp() {
+            int p = valueStart;
+            int length = valueEnd - valueStart;
+
+            if (length >= 19 && at(p + 4) == '-' && at(p + 7) == '-' && at(p + 10) == 'T'
+                    && at(p + 13) == ':' && at(p + 16) == ':'
+                    && (length == 19 || at(p + 19) == '.' && length > 20 && length <= 29)) {
+                long epochDay = LocalDate.of(digits(p, 4), digits(p + 5, 2), digits(p + 8, 2)).toEpochDay();
+                int hour = digits(p + 11, 2);
+                int minute = digits(p + 14, 2);
+                int second = digits(p + 17, 2);
+                if (hour > 23 || minute > 59 || second > 59) {
+                    throw new IllegalArgumentException("invalid time");
+                }
+
+                long nanos = 0;
+                if (length > 19) {
+                    int fraction = length - 20;
+                    nanos = digits(p + 20, fraction);
+                    for (int i = fraction; i < 9; i++) {
+                        nanos *= 10;
+                    }
+                }
+
+                long seconds = epochDay * 86_400 + hour * 3_600 + minute * 60 + second;
+                return seconds * EpochTime.NANOS_PER_SECOND + nanos;
+            }
+
+            String text = escaped ? unescape(valueStart, valueEnd) : string(valueStart, valueEnd, StandardCharsets.US_ASCII);
+            return EpochTime.toNanos(LocalDateTime.parse(text));
+        }
+
+        private int digits(int from, int count) {
+            int value = 0;
+            for (int i = from; i < from + count; i++) {
+                int digit = at(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new IllegalArgumentException("expected digit");
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        private String unescape(int from, int to) {
+            StringBuilder text = new StringBuilder(to - from);
+            String decoded = string(from, to, StandardCharsets.UTF_8);
+
+            for (int i = 0; i < decoded.length(); i++) {
+                char c = decoded.charAt(i);
+                if (c != '\\') {
+                    text.append(c);
+                    continue;
+                }
+
+                if (++i == decoded.length()) {
+                    throw new IllegalArgumentException("incomplete escape");
+                }
+                char escape = decoded.charAt(i);
+                switch (escape) {
+                    case 'n': text.append('\n'); break;
+                    case 't': text.append('\t'); break;
+                    case 'r': text.append('\r'); break;
+                    case 'b': text.append('\b'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'u':
+                        if (i + 4 >= decoded.length()) {
+                            throw new IllegalArgumentException("incomplete unicode escape");
+                        }
+                        int unit = 0;
+                        for (int j = i + 1; j <= i + 4; j++) {
+                            int digit = Character.digit(decoded.charAt(j), 16);
+                            if (digit < 0) {
+                                throw new IllegalArgumentException("expected hex digit");
+                            }
+                            unit = unit * 16 + digit;
+                        }
+                        text.append((char) unit);
+                        i += 4;
+                        break;
+                    default: text.append(escape);
+                }
+            }
+            return text.toString();
+        }
+
+        private boolean matches(int from, int to, byte[] expected) {
+            if (to - from != expected.length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (buffer.get(from + i) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private byte[] bytes(int from, int to) {
+            byte[] raw = new byte[to - from];
+            buffer.get(from, raw);
+            return raw;
+        }
+
+        private String string(int from, int to, Charset charset) {
+            return new String(bytes(from, to), charset);
+        }
+
+        private void skipWhitespace() {
+            while (position < end) {
+                byte b = buffer.get(position);
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw new IllegalArgumentException("expected '" + expected + "'");
+            }
+        }
+
+        private byte peek() {
+            if (position >= end) {
+                throw new IllegalArgumentException("unexpected end of line");
+            }
+            return buffer.get(position);
+        }
+
+        private byte next() {
+            byte b = peek();
+            position++;
+            return b;
+        }
+
+        /** Reads a byte of the current value. */
+        private byte at(int index) {
+            if (index >= valueEnd) {
+                throw new IllegalArgumentException("unexpected end of value");
+            }
+            return buffer.get(index);
+        }
+    }
+
+    public static class Summary {
+        private final long imported;
+        private final long skipped;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        private Summary(long imported, long skipped, long bytes, long elapsedNanos) {
+            this.imported = imported;
+            this.skipped = skipped;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        /** Non-blank lines that were not valid request records. */
+        public long getSkipped() {
+            return skipped;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public double getMegabytesPerSecond() {
+            return bytes / 1e6 / Math.max(1e-9, elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d requests imported, %,d lines skipped, %,d bytes in %.2fs (%.1f MB/s)",
+                imported, skipped, bytes, elapsedNanos / 1e9, getMegabytesPerSecond());
+        }
+    }
+}
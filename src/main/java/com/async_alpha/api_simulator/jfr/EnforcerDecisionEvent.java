@@ -0,0 +1,29 @@
+package com.async_alpha.api_simulator.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One {@code RateLimitEnforcer.processRequest} call, including the wait for
+ * the client's lock. Only decisions slower than the threshold are recorded by
+ * default; lower it in the recording settings to see every decision.
+ */
+@Name("com.async_alpha.api_simulator.EnforcerDecision")
+@Label("Enforcer Decision")
+@Category({"API Simulator", "Rate Limiting"})
+@Description("Rate limit decision for one request")
+@Threshold("10 us")
+@StackTrace(false)
+public class EnforcerDecisionEvent extends Event {
+
+    @Label("Client")
+    public String clientId;
+
+    @Label("Blocked")
+    public boolean blocked;
+
+    @Label("Remaining Quota")
+    public int remainingQuota;
+
+    @Label("Limiter")
+    public Class<?> limiter;
+}
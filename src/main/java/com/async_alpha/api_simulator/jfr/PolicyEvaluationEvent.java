@@ -0,0 +1,29 @@
+package com.async_alpha.api_simulator.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Evaluation of one policy against one client's log. While this event is
+ * enabled, {@code FusedPolicyEvaluator} times every policy on its own instead
+ * of fusing them, so the durations show which policy dominates.
+ */
+@Name("com.async_alpha.api_simulator.PolicyEvaluation")
+@Label("Policy Evaluation")
+@Category({"API Simulator", "Abuse Detection"})
+@Description("Evaluation of one rate policy against a request log")
+@Threshold("100 us")
+@StackTrace(false)
+public class PolicyEvaluationEvent extends Event {
+
+    @Label("Client")
+    public String clientId;
+
+    @Label("Policy")
+    public Class<?> policy;
+
+    @Label("Log Size")
+    public int logSize;
+
+    @Label("Violations")
+    public int violations;
+}
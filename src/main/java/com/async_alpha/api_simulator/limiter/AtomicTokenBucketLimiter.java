@@ -0,0 +1,207 @@
+package com.async_alpha.api_simulator.limiter;
+
+import com.async_alpha.api_simulator.model.ClientTable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+
+/**
+ * Lock-free variant of {@link TokenBucketLimiter} for very hot clients. Token
+ * count and last refill time are packed into one long that is updated with
+ * compare-and-set, so threads hammering the same client never block each other.
+ *
+ * Layout: the upper 42 bits hold microseconds since the bucket's base time
+ * (about 50 days of range), the lower 22 bits hold the token count in fixed
+ * point, scaled so that a full bucket still fits. Once a client's clock passes
+ * half of that range its bucket is retired and replaced by one based at the
+ * last refill, so the time field never saturates however long a client lives.
+ */
+public class AtomicTokenBucketLimiter implements RateLimiter {
+
+    private static final int TOKEN_BITS = 22;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MAX_MICROS = (1L << (64 - TOKEN_BITS)) - 1;
+    private static final long REBASE_MICROS = MAX_MICROS >>> 1;
+    private static final long RETIRED = -1L; // time field past REBASE_MICROS, never a live state
+
+    private final int capacity;
+    private final Duration refillPeriod;
+    private final int refillTokens;
+    private final long tokenScale;      // fixed-point units per whole token
+    private final long capacityUnits;
+    private final double unitsPerMicro;
+    private final ClientTable<Bucket> buckets = new ClientTable<>();
+
+    public AtomicTokenBucketLimiter(int capacity, int refillTokens, Duration refillPeriod) {
+        if (capacity < 1 || capacity > TOKEN_MASK) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + TOKEN_MASK);
+        }
+        if (refillTokens < 1) {
+            throw new IllegalArgumentException("refillTokens must be positive");
+        }
+        if (refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("refillPeriod must be positive");
+        }
+        this.capacity = capacity;
+        this.refillTokens = refillTokens;
+        this.refillPeriod = refillPeriod;
+        this.tokenScale = TOKEN_MASK / capacity;
+        this.capacityUnits = tokenScale * capacity;
+        this.unitsPerMicro = (double) refillTokens * tokenScale * 1_000 / refillPeriod.toNanos();
+    }
+
+    @Override
+    public boolean tryAcquire(int clientIndex, long nowNanos) {
+        while (true) {
+            Bucket bucket = buckets.computeIfAbsent(clientIndex, index -> new Bucket(nowNanos, capacityUnits));
+            long nowMicros = bucket.micros(nowNanos);
+            long current = bucket.state;
+
+            if (current == RETIRED) {
+                // another thread is installing the replacement
+                Thread.onSpinWait();
+                continue;
+            }
+            if (nowMicros >= REBASE_MICROS) {
+                rebase(clientIndex, bucket, current, nowMicros);
+                continue;
+            }
+
+            long refilled = refill(current, nowMicros);
+            long tokens = refilled & TOKEN_MASK;
+
+            if (tokens < tokenScale) {
+                return false;
+            }
+
+            if (Bucket.STATE.compareAndSet(bucket, current, refilled - tokenScale)) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public boolean wouldBlock(int clientIndex, long nowNanos) {
+        return unitsAt(clientIndex, nowNanos) < tokenScale;
+    }
+
+    @Override
+    public int getRemainingQuota(int clientIndex, long nowNanos) {
+        return (int) (unitsAt(clientIndex, nowNanos) / tokenScale);
+    }
+
+    @Override
+    public long getNanosUntilReset(int clientIndex, long nowNanos) {
+        long units = unitsAt(clientIndex, nowNanos);
+
+        if (units >= capacityUnits) {
+            return 0;
+        }
+
+        long missing = tokenScale - units % tokenScale;
+        return (long) Math.ceil(missing / unitsPerMicro * 1_000);
+    }
+
+    @Override
+    public int getMaxRequests() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isLockFree() {
+        return true;
+    }
+
+    /** Time an empty bucket takes to fill up again. */
+    @Override
+    public Duration getTimeWindow() {
+        return Duration.ofNanos(refillPeriod.toNanos() * capacity / refillTokens);
+    }
+
+    private long unitsAt(int clientIndex, long nowNanos) {
+        while (true) {
+            Bucket bucket = buckets.get(clientIndex);
+
+            if (bucket == null) {
+                return capacityUnits;
+            }
+
+            long state = bucket.state;
+            if (state != RETIRED) {
+                return refill(state, bucket.micros(nowNanos)) & TOKEN_MASK;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Retires {@code bucket} and installs one based at its last refill time,
+     * carrying the tokens over. Retiring first means no thread can still take a
+     * token from the old bucket once the new one is visible.
+     */
+    private void rebase(int clientIndex, Bucket bucket, long current, long nowMicros) {
+        if (!Bucket.STATE.compareAndSet(bucket, current, RETIRED)) {
+            return;
+        }
+
+        long refilled = refill(current, nowMicros);
+        long shiftMicros = refilled >>> TOKEN_BITS;
+        if (shiftMicros == 0) {
+            // nothing could be credited for the elapsed time, so it is dropped
+            shiftMicros = nowMicros;
+        }
+
+        buckets.set(clientIndex, new Bucket(bucket.baseNanos + shiftMicros * 1_000, refilled & TOKEN_MASK));
+    }
+
+    /** Returns the packed state with tokens credited up to {@code nowMicros}. */
+    private long refill(long state, long nowMicros) {
+        long lastMicros = state >>> TOKEN_BITS;
+        long elapsed = nowMicros - lastMicros;
+
+        if (elapsed <= 0) {
+            return state;
+        }
+
+        long tokens = state & TOKEN_MASK;
+        long credited = (long) (elapsed * unitsPerMicro);
+
+        if (credited >= capacityUnits - tokens) {
+            return (nowMicros << TOKEN_BITS) | capacityUnits;
+        }
+        if (credited == 0) {
+            return state;
+        }
+
+        // only advance the clock by the time actually paid out, so slow refill
+        // rates are not lost to rounding when the client calls very often
+        long paidMicros = Math.min(elapsed, (long) Math.ceil(credited / unitsPerMicro));
+        return ((lastMicros + paidMicros) << TOKEN_BITS) | (tokens + credited);
+    }
+
+    private static class Bucket {
+        private static final VarHandle STATE;
+
+        static {
+            try {
+                STATE = MethodHandles.lookup().findVarHandle(Bucket.class, "state", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final long baseNanos;
+        private volatile long state;
+
+        Bucket(long baseNanos, long tokens) {
+            this.baseNanos = baseNanos;
+            this.state = tokens;
+        }
+
+        long micros(long nowNanos) {
+            return Math.max(0, Math.min(MAX_MICROS, (nowNanos - baseNanos) / 1_000));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.async_alpha.api_simulator.limiter;
+
+import com.async_alpha.api_simulator.model.ClientLongTable;
+
+import java.time.Duration;
+
+/**
+ * Generic cell rate algorithm: {@code maxRequests} per {@code timeWindow}, with
+ * bursts of up to {@code maxRequests}. The only per-client state is the
+ * theoretical arrival time (TAT) of the next request, one long in epoch
+ * nanoseconds, which is updated with compare-and-set.
+ */
+public class GcraLimiter implements RateLimiter {
+
+    private final int maxRequests;
+    private final Duration timeWindow;
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final ClientLongTable arrivalTimes = new ClientLongTable(Long.MIN_VALUE);
+
+    public GcraLimiter(int maxRequests, Duration timeWindow) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests must be positive");
+        }
+        if (timeWindow.toNanos() < maxRequests) {
+            throw new IllegalArgumentException("timeWindow must be at least one nanosecond per request");
+        }
+        this.maxRequests = maxRequests;
+        this.timeWindow = timeWindow;
+        this.emissionInterval = timeWindow.toNanos() / maxRequests;
+        this.burstTolerance = emissionInterval * maxRequests;
+    }
+
+    @Override
+    public boolean tryAcquire(int clientIndex, long nowNanos) {
+        while (true) {
+            long tat = arrivalTimes.get(clientIndex);
+            long newTat = Math.max(tat, nowNanos) + emissionInterval;
+
+            if (newTat - nowNanos > burstTolerance) {
+                return false;
+            }
+
+            if (arrivalTimes.compareAndSet(clientIndex, tat, newTat)) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public boolean wouldBlock(int clientIndex, long nowNanos) {
+        return backlog(clientIndex, nowNanos) + emissionInterval > burstTolerance;
+    }
+
+    @Override
+    public int getRemainingQuota(int clientIndex, long nowNanos) {
+        return (int) remaining(backlog(clientIndex, nowNanos));
+    }
+
+    /**
+     * Exact wait until one more request fits; for a blocked client this is the
+     * retry-after value.
+     */
+    @Override
+    public long getNanosUntilReset(int clientIndex, long nowNanos) {
+        long backlog = backlog(clientIndex, nowNanos);
+
+        if (backlog == 0) {
+            return 0;
+        }
+
+        return backlog - (burstTolerance - (remaining(backlog) + 1) * emissionInterval);
+    }
+
+    @Override
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    @Override
+    public Duration getTimeWindow() {
+        return timeWindow;
+    }
+
+    @Override
+    public boolean isLockFree() {
+        return true;
+    }
+
+    /**
+     * Requests that still fit in the burst tolerance. A query timed before the
+     * client's last decision can see a backlog beyond the tolerance, which
+     * leaves none.
+     */
+    private long remaining(long backlog) {
+        return Math.max(0, (burstTolerance - backlog) / emissionInterval);
+    }
+
+    /** How far the client's TAT runs ahead of now; zero once fully replenished. */
+    private long backlog(int clientIndex, long nowNanos) {
+        long tat = arrivalTimes.get(clientIndex);
+        return tat == Long.MIN_VALUE ? 0 : Math.max(0, tat - nowNanos);
+    }
+}
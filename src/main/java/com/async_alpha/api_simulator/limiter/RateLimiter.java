@@ -0,0 +1,63 @@
+package com.async_alpha.api_simulator.limiter;
+
+import com.async_alpha.api_simulator.model.ClientRegistry;
+
+import java.time.Duration;
+
+/**
+ * Enforcement algorithm behind {@code RateLimitEnforcer}. Implementations keep
+ * their own per-client state in tables indexed by {@link ClientRegistry} ids and
+ * take the current time as epoch nanoseconds, so decisions never depend on the
+ * size of the request log. They must be safe for concurrent use, locking at
+ * most the state of the client being decided.
+ */
+public interface RateLimiter {
+
+    /**
+     * Decides the request and, if allowed, charges it against the client's quota.
+     * @return true if the request is ALLOWED
+     */
+    boolean tryAcquire(int clientIndex, long nowNanos);
+
+    /** Same decision as {@link #tryAcquire(int, long)} without consuming any quota. */
+    boolean wouldBlock(int clientIndex, long nowNanos);
+
+    int getRemainingQuota(int clientIndex, long nowNanos);
+
+    /** Time until the next unit of quota becomes available again. */
+    long getNanosUntilReset(int clientIndex, long nowNanos);
+
+    int getMaxRequests();
+
+    Duration getTimeWindow();
+
+    /**
+     * Whether decisions are made without any locking, in which case the enforcer
+     * skips its per-client lock as well.
+     */
+    default boolean isLockFree() {
+        return false;
+    }
+
+    // The String forms address the default registry. Queries look the client up
+    // without registering it; a client never seen has a full quota.
+
+    default boolean tryAcquire(String clientId, long nowNanos) {
+        return tryAcquire(ClientRegistry.getDefault().intern(clientId), nowNanos);
+    }
+
+    default boolean wouldBlock(String clientId, long nowNanos) {
+        int clientIndex = ClientRegistry.getDefault().indexOf(clientId);
+        return clientIndex >= 0 && wouldBlock(clientIndex, nowNanos);
+    }
+
+    default int getRemainingQuota(String clientId, long nowNanos) {
+        int clientIndex = ClientRegistry.getDefault().indexOf(clientId);
+        return clientIndex < 0 ? getMaxRequests() : getRemainingQuota(clientIndex, nowNanos);
+    }
+
+    default long getNanosUntilReset(String clientId, long nowNanos) {
+        int clientIndex = ClientRegistry.getDefault().indexOf(clientId);
+        return clientIndex < 0 ? 0 : getNanosUntilReset(clientIndex, nowNanos);
+    }
+}
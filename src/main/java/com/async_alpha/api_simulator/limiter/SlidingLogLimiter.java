@@ -0,0 +1,152 @@
+package com.async_alpha.api_simulator.limiter;
+
+import com.async_alpha.api_simulator.model.ClientTable;
+
+import java.time.Duration;
+
+/**
+ * Exact sliding-log limit: at most {@code maxRequests} allowed requests within any
+ * {@code timeWindow}. Only the last {@code maxRequests} allowed timestamps are kept.
+ */
+public class SlidingLogLimiter implements RateLimiter {
+
+    private final int maxRequests;
+    private final Duration timeWindow;
+    private final ClientTable<TimestampRing> rings = new ClientTable<>();
+
+    public SlidingLogLimiter(int maxRequests, Duration timeWindow) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests must be positive");
+        }
+        this.maxRequests = maxRequests;
+        this.timeWindow = timeWindow;
+    }
+
+    @Override
+    public boolean tryAcquire(int clientIndex, long nowNanos) {
+        TimestampRing ring = rings.computeIfAbsent(clientIndex, index -> new TimestampRing(maxRequests));
+
+        synchronized (ring) {
+            if (isFull(ring, nowNanos)) {
+                return false;
+            }
+            ring.add(nowNanos);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean wouldBlock(int clientIndex, long nowNanos) {
+        TimestampRing ring = rings.get(clientIndex);
+
+        if (ring == null) {
+            return false;
+        }
+
+        synchronized (ring) {
+            return isFull(ring, nowNanos);
+        }
+    }
+
+    @Override
+    public int getRemainingQuota(int clientIndex, long nowNanos) {
+        TimestampRing ring = rings.get(clientIndex);
+
+        if (ring == null) {
+            return maxRequests;
+        }
+
+        synchronized (ring) {
+            int recentCount = ring.size - ring.countBefore(nowNanos - timeWindow.toNanos());
+            return Math.max(0, maxRequests - recentCount);
+        }
+    }
+
+    @Override
+    public long getNanosUntilReset(int clientIndex, long nowNanos) {
+        TimestampRing ring = rings.get(clientIndex);
+
+        if (ring == null) {
+            return 0;
+        }
+
+        long windowNanos = timeWindow.toNanos();
+        synchronized (ring) {
+            int expired = ring.countBefore(nowNanos - windowNanos + 1);
+
+            if (expired == ring.size) {
+                return 0;
+            }
+
+            return Math.max(0, ring.get(expired) + windowNanos - nowNanos);
+        }
+    }
+
+    @Override
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    @Override
+    public Duration getTimeWindow() {
+        return timeWindow;
+    }
+
+    /**
+     * The ring holds the last maxRequests allowed requests, so the window is
+     * full exactly when the oldest of them is still inside it.
+     */
+    private boolean isFull(TimestampRing ring, long nowNanos) {
+        if (ring.size < maxRequests) {
+            return false; // Fewer than maxRequests ever allowed
+        }
+        return nowNanos - ring.oldest() <= timeWindow.toNanos();
+    }
+
+    /**
+     * The last {@code capacity} allowed timestamps of one client, oldest first.
+     * Bounded by the rate limit, so every lookup is independent of log length.
+     */
+    private static class TimestampRing {
+        private final long[] times;
+        private int head = 0;
+        private int size = 0;
+
+        TimestampRing(int capacity) {
+            this.times = new long[capacity];
+        }
+
+        void add(long time) {
+            if (size < times.length) {
+                times[(head + size) % times.length] = time;
+                size++;
+            } else {
+                times[head] = time;
+                head = (head + 1) % times.length;
+            }
+        }
+
+        long oldest() {
+            return times[head];
+        }
+
+        long get(int index) {
+            return times[(head + index) % times.length];
+        }
+
+        /** Number of timestamps strictly before {@code time}, by binary search. */
+        int countBefore(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (get(mid) < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.async_alpha.api_simulator.limiter;
+
+import com.async_alpha.api_simulator.model.ClientLongTable;
+
+import java.time.Duration;
+
+/**
+ * Approximate sliding window: keeps a counter for the current and the previous
+ * epoch-aligned fixed window and estimates the sliding count by weighting the
+ * previous counter with the part of it still covered by the sliding window.
+ *
+ * Per-client state is one long in a {@link ClientLongTable}, updated with
+ * compare-and-set: the two counters in the low bits, each just wide enough for
+ * {@code maxRequests}, and the index of the current window in the rest. Only
+ * the low bits of the window index are kept, at least 22 of them, so a client
+ * idle for an exact multiple of that many windows is taken to be in the same
+ * window; with the default limits that is millions of years away.
+ */
+public class SlidingWindowCounterLimiter implements RateLimiter {
+
+    /** Largest limit whose counters still leave 22 bits for the window index. */
+    public static final int MAX_LIMIT = (1 << 20) - 1;
+
+    private static final long EMPTY = -1L; // counters above any limit, never a live state
+
+    private final int maxRequests;
+    private final Duration timeWindow;
+    private final long windowNanos;
+    private final int countBits;
+    private final long countMask;
+    private final int windowShift;
+    private final ClientLongTable states = new ClientLongTable(EMPTY);
+
+    public SlidingWindowCounterLimiter(int maxRequests, Duration timeWindow) {
+        if (maxRequests < 1 || maxRequests > MAX_LIMIT) {
+            throw new IllegalArgumentException("maxRequests must be between 1 and " + MAX_LIMIT);
+        }
+        this.maxRequests = maxRequests;
+        this.timeWindow = timeWindow;
+        this.windowNanos = timeWindow.toNanos();
+        // one spare bit, so a full counter field is never a valid count
+        this.countBits = Integer.SIZE + 1 - Integer.numberOfLeadingZeros(maxRequests);
+        this.countMask = (1L << countBits) - 1;
+        this.windowShift = 2 * countBits;
+    }
+
+    @Override
+    public boolean tryAcquire(int clientIndex, long nowNanos) {
+        long window = Math.floorDiv(nowNanos, windowNanos);
+
+        while (true) {
+            long state = states.get(clientIndex);
+            long rolled = roll(state, window);
+
+            if (estimate(rolled, window, nowNanos) + 1 > maxRequests) {
+                // keep the roll-over, so later late requests are weighed against this window
+                if (rolled == state || states.compareAndSet(clientIndex, state, rolled)) {
+                    return false;
+                }
+            } else if (states.compareAndSet(clientIndex, state, rolled + (1L << countBits))) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public boolean wouldBlock(int clientIndex, long nowNanos) {
+        return estimateCount(clientIndex, nowNanos) + 1 > maxRequests;
+    }
+
+    @Override
+    public int getRemainingQuota(int clientIndex, long nowNanos) {
+        return (int) Math.max(0, Math.floor(maxRequests - estimateCount(clientIndex, nowNanos)));
+    }
+
+    @Override
+    public long getNanosUntilReset(int clientIndex, long nowNanos) {
+        long window = Math.floorDiv(nowNanos, windowNanos);
+        long state = roll(states.get(clientIndex), window);
+        double estimate = estimate(state, window, nowNanos);
+        int remaining = (int) Math.max(0, Math.floor(maxRequests - estimate));
+
+        if (remaining >= maxRequests) {
+            return 0;
+        }
+
+        // the estimate has to fall to this value for one more request to fit
+        double target = maxRequests - remaining - 1;
+        int current = current(state);
+        int previous = previous(state);
+
+        // within the current window only the previous counter decays
+        long windowEnd = windowStart(state, window) + windowNanos;
+        if (previous > 0) {
+            double wait = (estimate - target) * windowNanos / previous;
+            if (nowNanos + wait <= windowEnd) {
+                return (long) Math.ceil(wait);
+            }
+        }
+
+        // after the roll-over the current counter becomes the decaying one
+        long untilRoll = windowEnd - nowNanos;
+        if (current <= target) {
+            return untilRoll;
+        }
+        return untilRoll + (long) Math.ceil((current - target) * windowNanos / current);
+    }
+
+    /** Weighted estimate of the requests allowed within the sliding window ending now. */
+    public double estimateCount(int clientIndex, long nowNanos) {
+        long window = Math.floorDiv(nowNanos, windowNanos);
+        return estimate(roll(states.get(clientIndex), window), window, nowNanos);
+    }
+
+    @Override
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    @Override
+    public Duration getTimeWindow() {
+        return timeWindow;
+    }
+
+    @Override
+    public boolean isLockFree() {
+        return true;
+    }
+
+    private double estimate(long state, long window, long nowNanos) {
+        double elapsed = Math.max(0, Math.min(windowNanos, nowNanos - windowStart(state, window)));
+        double previousWeight = 1.0 - elapsed / windowNanos;
+        return previous(state) * previousWeight + current(state);
+    }
+
+    /** The state as of {@code window}; never moves a state back to an earlier window. */
+    private long roll(long state, long window) {
+        if (state == EMPTY) {
+            return pack(window, 0, 0);
+        }
+
+        long behind = windowsBehind(state, window);
+        if (behind <= 0) {
+            return state; // same window, or a late request that is counted in the current one
+        }
+        return pack(window, 0, behind == 1 ? current(state) : 0);
+    }
+
+    /** Start of the state's window, given the window that contains now. */
+    private long windowStart(long state, long window) {
+        return (window - windowsBehind(state, window)) * windowNanos;
+    }
+
+    /** Windows from the state's window to {@code window}, negative if the state is ahead. */
+    private long windowsBehind(long state, long window) {
+        long difference = window - (state >>> windowShift);
+        return difference << windowShift >> windowShift;
+    }
+
+    private long pack(long window, int current, int previous) {
+        return window << windowShift | (long) current << countBits | previous;
+    }
+
+    private int current(long state) {
+        return (int) (state >>> countBits & countMask);
+    }
+
+    private int previous(long state) {
+        return (int) (state & countMask);
+    }
+}
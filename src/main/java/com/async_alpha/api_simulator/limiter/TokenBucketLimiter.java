@@ -0,0 +1,103 @@
+package com.async_alpha.api_simulator.limiter;
+
+import com.async_alpha.api_simulator.model.ClientLocks;
+import com.async_alpha.api_simulator.model.ClientLongTable;
+
+import java.time.Duration;
+
+/**
+ * Token bucket holding up to {@code capacity} tokens, refilled at
+ * {@code refillTokens} per {@code refillPeriod}. Refill is computed lazily from
+ * the elapsed time at each decision, so per-client state is just the token count
+ * and the last refill time, 16 bytes in two primitive tables.
+ */
+public class TokenBucketLimiter implements RateLimiter {
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private final ClientLongTable tokenBits = new ClientLongTable(0);
+    private final ClientLongTable lastRefillNanos = new ClientLongTable(NEVER);
+    private final ClientLocks locks = new ClientLocks();
+
+    public TokenBucketLimiter(int capacity, int refillTokens, Duration refillPeriod) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (refillTokens < 1) {
+            throw new IllegalArgumentException("refillTokens must be positive");
+        }
+        if (refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("refillPeriod must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillTokens / refillPeriod.toNanos();
+    }
+
+    @Override
+    public boolean tryAcquire(int clientIndex, long nowNanos) {
+        synchronized (locks.forClient(clientIndex)) {
+            double tokens = tokensAt(clientIndex, nowNanos);
+
+            if (tokens < 1) {
+                return false;
+            }
+
+            tokenBits.set(clientIndex, Double.doubleToRawLongBits(tokens - 1));
+            lastRefillNanos.set(clientIndex, Math.max(lastRefillNanos.get(clientIndex), nowNanos));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean wouldBlock(int clientIndex, long nowNanos) {
+        return lockedTokensAt(clientIndex, nowNanos) < 1;
+    }
+
+    @Override
+    public int getRemainingQuota(int clientIndex, long nowNanos) {
+        return (int) lockedTokensAt(clientIndex, nowNanos);
+    }
+
+    @Override
+    public long getNanosUntilReset(int clientIndex, long nowNanos) {
+        double tokens = lockedTokensAt(clientIndex, nowNanos);
+
+        if (tokens >= capacity) {
+            return 0;
+        }
+
+        double missing = Math.floor(tokens) + 1 - tokens;
+        return (long) Math.ceil(missing / tokensPerNano);
+    }
+
+    @Override
+    public int getMaxRequests() {
+        return capacity;
+    }
+
+    /** Time an empty bucket takes to fill up again. */
+    @Override
+    public Duration getTimeWindow() {
+        return Duration.ofNanos((long) Math.ceil(capacity / tokensPerNano));
+    }
+
+    private double lockedTokensAt(int clientIndex, long nowNanos) {
+        synchronized (locks.forClient(clientIndex)) {
+            return tokensAt(clientIndex, nowNanos);
+        }
+    }
+
+    private double tokensAt(int clientIndex, long nowNanos) {
+        long last = lastRefillNanos.get(clientIndex);
+
+        if (last == NEVER) {
+            return capacity;
+        }
+
+        long elapsed = Math.max(0, nowNanos - last);
+        double tokens = Double.longBitsToDouble(tokenBits.get(clientIndex));
+        return Math.min(capacity, tokens + elapsed * tokensPerNano);
+    }
+}
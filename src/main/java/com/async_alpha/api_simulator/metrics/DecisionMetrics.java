@@ -0,0 +1,111 @@
+package com.async_alpha.api_simulator.metrics;
+
+import com.async_alpha.api_simulator.model.ClientLongTable;
+import com.async_alpha.api_simulator.model.ClientRegistry;
+import com.async_alpha.api_simulator.model.RequestType;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency of the enforcer's decisions. Global counters are
+ * {@link LongAdder}s and per-client counters are atomic slots of
+ * {@link ClientLongTable}s, so recording never takes a lock. Only requests per
+ * type and blocked requests are counted; allowed is derived, so an allowed
+ * request costs one per-client increment. Unlike {@code ClientActivity} it
+ * keeps no per-request records, so it can stay on for the whole run.
+ */
+public class DecisionMetrics {
+
+    private static final RequestType[] TYPES = RequestType.values();
+
+    private final ClientRegistry registry;
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder[] byType = new LongAdder[TYPES.length];
+    private final ClientLongTable clientBlocked = new ClientLongTable(0);
+    private final ClientLongTable[] clientByType = new ClientLongTable[TYPES.length];
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final long startNanos = System.nanoTime();
+
+    public DecisionMetrics() {
+        this(ClientRegistry.getDefault());
+    }
+
+    /** @param registry registry whose indices are passed to {@link #record} */
+    public DecisionMetrics(ClientRegistry registry) {
+        this.registry = registry;
+        for (int i = 0; i < TYPES.length; i++) {
+            byType[i] = new LongAdder();
+            clientByType[i] = new ClientLongTable(0);
+        }
+    }
+
+    public void record(int clientIndex, RequestType requestType, boolean wasBlocked, long latencyNanos) {
+        if (wasBlocked) {
+            blocked.increment();
+            clientBlocked.getAndAdd(clientIndex, 1);
+        }
+        byType[requestType.ordinal()].increment();
+        clientByType[requestType.ordinal()].getAndAdd(clientIndex, 1);
+        latency.recordNanos(latencyNanos);
+    }
+
+    public long getAllowed() {
+        return getRequests() - getBlocked();
+    }
+
+    public long getBlocked() {
+        return blocked.sum();
+    }
+
+    public long getRequests() {
+        long requests = 0;
+        for (LongAdder count : byType) {
+            requests += count.sum();
+        }
+        return requests;
+    }
+
+    public long getRequests(RequestType requestType) {
+        return byType[requestType.ordinal()].sum();
+    }
+
+    public long getAllowed(String clientId) {
+        int clientIndex = registry.indexOf(clientId);
+        if (clientIndex < 0) {
+            return 0;
+        }
+
+        long requests = 0;
+        for (ClientLongTable count : clientByType) {
+            requests += count.get(clientIndex);
+        }
+        return requests - clientBlocked.get(clientIndex);
+    }
+
+    public long getBlocked(String clientId) {
+        int clientIndex = registry.indexOf(clientId);
+        return clientIndex < 0 ? 0 : clientBlocked.get(clientIndex);
+    }
+
+    public long getRequests(String clientId, RequestType requestType) {
+        int clientIndex = registry.indexOf(clientId);
+        return clientIndex < 0 ? 0 : clientByType[requestType.ordinal()].get(clientIndex);
+    }
+
+    /** Wall-clock time spent in {@code processRequest}, per request. */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /** Decisions per second since the metrics were created. */
+    public double getThroughput() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed <= 0 ? 0 : getRequests() * 1e9 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d decisions (%,d blocked), %,.0f/s, latency %s",
+            getRequests(), getBlocked(), getThroughput(), latency);
+    }
+}
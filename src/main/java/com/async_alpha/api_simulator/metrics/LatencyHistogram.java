@@ -0,0 +1,163 @@
+package com.async_alpha.api_simulator.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets in the style of
+ * HdrHistogram: every power of two is split into {@value #SUB_BUCKETS} linear
+ * sub-buckets, so any recorded value is reported within about 3% from 1 ns up
+ * to the full {@code long} range in a 15 KB table. The table is striped by
+ * thread, one 15 KB stripe per processor, so recording is one uncontended
+ * atomic increment plus a {@link LongAdder} for the sum. The count, the
+ * percentiles and the max are derived from the buckets on demand and, while
+ * writers are active, reflect a slightly moving count; the max is reported
+ * with the same precision as the percentiles.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    // smallest power of two not below the processor count
+    private static final int STRIPES =
+        Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+    private final LongAdder sum = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS);
+        }
+    }
+
+    public void recordNanos(long nanos) {
+        long value = Math.max(0, nanos);
+        stripes[stripe()].getAndIncrement(indexOf(value));
+        sum.add(value);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (long bucket : snapshot()) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    public long getMaxNanos() {
+        long[] counts = snapshot();
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100, e.g. 99.9
+     * @return the highest value equivalent to the one at {@code percentile},
+     *         or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        long[] counts = snapshot();
+        long count = 0;
+        for (long bucket : counts) {
+            count += bucket;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        int last = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                last = i;
+            }
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return highestEquivalentValue(last);
+    }
+
+    public long getP50Nanos() {
+        return getPercentileNanos(50);
+    }
+
+    public long getP99Nanos() {
+        return getPercentileNanos(99);
+    }
+
+    public long getP999Nanos() {
+        return getPercentileNanos(99.9);
+    }
+
+    /** Bucket counts summed over all stripes. */
+    private long[] snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return counts;
+    }
+
+    private static int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & (STRIPES - 1);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestEquivalentValue(int index) {
+        int bucket = index / SUB_BUCKETS;
+        long subBucket = index % SUB_BUCKETS;
+        if (bucket == 0) {
+            return subBucket;
+        }
+        int shift = bucket - 1;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50 %s, p99 %s, p99.9 %s, max %s (%,d samples)",
+            formatNanos(getP50Nanos()),
+            formatNanos(getP99Nanos()),
+            formatNanos(getP999Nanos()),
+            formatNanos(getMaxNanos()),
+            getCount());
+    }
+
+    /** Formats a duration as µs below one millisecond and as ms above. */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.1f µs", nanos / 1e3);
+        }
+        return String.format("%.2f ms", nanos / 1e6);
+    }
+}
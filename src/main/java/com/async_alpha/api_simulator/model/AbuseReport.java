@@ -7,20 +7,33 @@ public class AbuseReport {
 
     private final String clientId;
     private ViolationLevel level = ViolationLevel.NORMAL;
-    private final List<String> violations = new ArrayList<>();
+    private final List<Violation> violations = new ArrayList<>();
 
     public AbuseReport(String clientId) {
         this.clientId = clientId;
     }
 
+    public void addViolation(Violation violation) {
+        violations.add(violation);
+    }
+
     public void addViolation(String message) {
-        violations.add(message);
+        violations.add(Violation.ofMessage(message));
     }
 
-    public List<String> getViolations() {
+    public List<Violation> getViolations() {
         return violations;
     }
 
+    /** Renders the violations; only call this when the text is shown. */
+    public List<String> getViolationMessages() {
+        List<String> messages = new ArrayList<>(violations.size());
+        for (Violation violation : violations) {
+            messages.add(violation.getMessage());
+        }
+        return messages;
+    }
+
     public String getClientId() {
         return clientId;
     }
@@ -4,10 +4,24 @@ public class Client {
 
     private final String clientId;
     private final String name;
+    private final ClientRegistry registry;
+    private final int index;
 
+    /**
+     * Registers the client with the default {@link ClientRegistry} under this
+     * name, so the registry's entry and this object agree. An id registered
+     * before keeps its first name in the registry.
+     */
     public Client(String clientId, String name) {
+        this(clientId, name, ClientRegistry.getDefault(),
+            ClientRegistry.getDefault().register(clientId, name).getIndex());
+    }
+
+    Client(String clientId, String name, ClientRegistry registry, int index) {
         this.clientId = clientId;
         this.name = name;
+        this.registry = registry;
+        this.index = index;
     }
 
     public String getClientId() {
@@ -17,4 +31,14 @@ public class Client {
     public String getName() {
         return name;
     }
+
+    /** Dense index assigned by {@link #getRegistry()}, used to address per-client state. */
+    public int getIndex() {
+        return index;
+    }
+
+    /** Registry that assigned {@link #getIndex()}. */
+    public ClientRegistry getRegistry() {
+        return registry;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.async_alpha.api_simulator.model;
+
+/**
+ * Fixed set of lock stripes addressed by client index, for per-client state
+ * spread over several primitive tables. Clients on different stripes never
+ * contend and there is no global lock.
+ */
+public final class ClientLocks {
+
+    private final Object[] stripes;
+
+    public ClientLocks() {
+        int count = Integer.highestOneBit(Math.max(16, Runtime.getRuntime().availableProcessors() * 8) * 2 - 1);
+        stripes = new Object[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    public Object forClient(int clientIndex) {
+        return stripes[clientIndex & (stripes.length - 1)];
+    }
+}
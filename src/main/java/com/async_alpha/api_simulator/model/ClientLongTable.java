@@ -0,0 +1,77 @@
+package com.async_alpha.api_simulator.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+import static com.async_alpha.api_simulator.model.ClientTable.CHUNK_BITS;
+import static com.async_alpha.api_simulator.model.ClientTable.CHUNK_MASK;
+import static com.async_alpha.api_simulator.model.ClientTable.CHUNK_SIZE;
+
+/**
+ * One primitive {@code long} per client, indexed by the dense ids of
+ * {@link ClientRegistry}: 8 bytes per client with no boxing or hashing.
+ * Chunked like {@link ClientTable}, so values can be updated with
+ * compare-and-set while the table grows.
+ */
+public final class ClientLongTable {
+
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long initialValue;
+    private volatile long[][] chunks = new long[1][];
+
+    /**
+     * @param initialValue value of every slot that has never been written
+     */
+    public ClientLongTable(long initialValue) {
+        this.initialValue = initialValue;
+    }
+
+    public long get(int index) {
+        long[] chunk = chunkOrNull(index);
+        return chunk == null ? initialValue : (long) ELEMENT.getVolatile(chunk, index & CHUNK_MASK);
+    }
+
+    public void set(int index, long value) {
+        ELEMENT.setVolatile(chunk(index), index & CHUNK_MASK, value);
+    }
+
+    public boolean compareAndSet(int index, long expected, long value) {
+        return ELEMENT.compareAndSet(chunk(index), index & CHUNK_MASK, expected, value);
+    }
+
+    /** Atomically adds {@code delta}, e.g. for per-client counters. */
+    public long getAndAdd(int index, long delta) {
+        return (long) ELEMENT.getAndAdd(chunk(index), index & CHUNK_MASK, delta);
+    }
+
+    private long[] chunkOrNull(int index) {
+        long[][] directory = chunks;
+        int chunkIndex = index >>> CHUNK_BITS;
+        return chunkIndex < directory.length ? directory[chunkIndex] : null;
+    }
+
+    private long[] chunk(int index) {
+        long[] chunk = chunkOrNull(index);
+        return chunk != null ? chunk : allocate(index >>> CHUNK_BITS);
+    }
+
+    private synchronized long[] allocate(int chunkIndex) {
+        long[][] directory = chunks;
+        if (chunkIndex < directory.length && directory[chunkIndex] != null) {
+            return directory[chunkIndex];
+        }
+
+        long[] chunk = new long[CHUNK_SIZE];
+        if (initialValue != 0) {
+            Arrays.fill(chunk, initialValue);
+        }
+
+        long[][] grown = new long[Math.max(directory.length, chunkIndex + 1)][];
+        System.arraycopy(directory, 0, grown, 0, directory.length);
+        grown[chunkIndex] = chunk;
+        chunks = grown;
+        return chunk;
+    }
+}
@@ -0,0 +1,126 @@
+package com.async_alpha.api_simulator.model;
+
+/**
+ * Interns client ids to dense ints so per-client state can live in arrays
+ * ({@link ClientTable}, {@link ClientLongTable}) instead of hash maps keyed by
+ * strings. Lookups probe an open-addressing {@code int[]} table without
+ * locking; only registering a new client takes the lock.
+ *
+ * Ids are never removed, so every table addressed by a registry's indices
+ * keeps a slot for each id it has seen. Components that see an open-ended
+ * stream of clients, like a headless simulation or an import, are given their
+ * own registry and drop it, with all of those slots, when they are done.
+ */
+public final class ClientRegistry {
+
+    private static final ClientRegistry DEFAULT = new ClientRegistry();
+
+    private final ClientTable<Client> clients = new ClientTable<>();
+    private volatile int[] slots = new int[1024]; // client index + 1, 0 = empty
+    private volatile int size = 0;
+
+    public ClientRegistry() {
+    }
+
+    /**
+     * Process-wide registry, used by every component not given one of its own,
+     * e.g. by the dashboards. It lives as long as the process.
+     */
+    public static ClientRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return the dense index of the client, registering it on first sight
+     */
+    public int intern(String clientId) {
+        int index = probe(slots, clientId);
+        if (index >= 0) {
+            return index;
+        }
+        return register(clientId, clientId).getIndex();
+    }
+
+    /**
+     * @return the dense index of the client, or -1 if it was never registered
+     */
+    public int indexOf(String clientId) {
+        int index = probe(slots, clientId);
+        if (index >= 0) {
+            return index;
+        }
+
+        // an insert racing with the lock-free probe may not be visible yet
+        synchronized (this) {
+            return probe(slots, clientId);
+        }
+    }
+
+    public synchronized Client register(String clientId, String name) {
+        int existing = probe(slots, clientId);
+        if (existing >= 0) {
+            return clients.get(existing);
+        }
+
+        int index = size;
+        Client client = new Client(clientId, name, this, index);
+        clients.set(index, client);
+
+        if ((index + 1) * 2 > slots.length) {
+            rehash(slots.length * 2, index);
+        } else {
+            insert(slots, clientId, index);
+        }
+        size = index + 1;
+        return client;
+    }
+
+    public Client getClient(int index) {
+        return clients.get(index);
+    }
+
+    public String getClientId(int index) {
+        return clients.get(index).getClientId();
+    }
+
+    /** Number of registered clients; valid indices are {@code 0 .. size() - 1}. */
+    public int size() {
+        return size;
+    }
+
+    private int probe(int[] table, String clientId) {
+        int mask = table.length - 1;
+        int slot = spread(clientId.hashCode()) & mask;
+
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            Client client = clients.get(entry - 1);
+            if (client != null && client.getClientId().equals(clientId)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(int[] table, String clientId, int index) {
+        int mask = table.length - 1;
+        int slot = spread(clientId.hashCode()) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    private void rehash(int capacity, int lastIndex) {
+        int[] grown = new int[capacity];
+        for (int i = 0; i <= lastIndex; i++) {
+            insert(grown, clients.get(i).getClientId(), i);
+        }
+        slots = grown;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+}
@@ -0,0 +1,86 @@
+package com.async_alpha.api_simulator.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.IntFunction;
+
+/**
+ * Per-client objects indexed by the dense ids of {@link ClientRegistry}. Storage
+ * is chunked so growing never moves existing entries, which lets readers and
+ * compare-and-set writers work without locking.
+ *
+ * @param <T> the per-client value
+ */
+public final class ClientTable<T> {
+
+    static final int CHUNK_BITS = 12;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private volatile Object[][] chunks = new Object[1][];
+
+    public T get(int index) {
+        Object[] chunk = chunkOrNull(index);
+        return chunk == null ? null : cast(ELEMENT.getAcquire(chunk, index & CHUNK_MASK));
+    }
+
+    public void set(int index, T value) {
+        ELEMENT.setRelease(chunk(index), index & CHUNK_MASK, value);
+    }
+
+    /** Returns the existing value or atomically installs a new one. */
+    public T computeIfAbsent(int index, IntFunction<? extends T> factory) {
+        T existing = get(index);
+        if (existing != null) {
+            return existing;
+        }
+
+        Object[] chunk = chunk(index);
+        T created = factory.apply(index);
+        Object witness = ELEMENT.compareAndExchangeRelease(chunk, index & CHUNK_MASK, null, created);
+        return witness == null ? created : cast(witness);
+    }
+
+    /** Clears the slot only if it still holds {@code expected}. */
+    public boolean remove(int index, T expected) {
+        Object[] chunk = chunkOrNull(index);
+        return chunk != null && ELEMENT.compareAndSet(chunk, index & CHUNK_MASK, expected, null);
+    }
+
+    /** Upper bound (exclusive) of the indices that may hold a value. */
+    public int capacity() {
+        return chunks.length << CHUNK_BITS;
+    }
+
+    private Object[] chunkOrNull(int index) {
+        Object[][] directory = chunks;
+        int chunkIndex = index >>> CHUNK_BITS;
+        return chunkIndex < directory.length ? directory[chunkIndex] : null;
+    }
+
+    private Object[] chunk(int index) {
+        Object[] chunk = chunkOrNull(index);
+        return chunk != null ? chunk : allocate(index >>> CHUNK_BITS);
+    }
+
+    /** Copy-on-write of the small chunk directory; chunks themselves never move. */
+    private synchronized Object[] allocate(int chunkIndex) {
+        Object[][] directory = chunks;
+        if (chunkIndex < directory.length && directory[chunkIndex] != null) {
+            return directory[chunkIndex];
+        }
+
+        Object[][] grown = new Object[Math.max(directory.length, chunkIndex + 1)][];
+        System.arraycopy(directory, 0, grown, 0, directory.length);
+        grown[chunkIndex] = new Object[CHUNK_SIZE];
+        chunks = grown;
+        return grown[chunkIndex];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+}
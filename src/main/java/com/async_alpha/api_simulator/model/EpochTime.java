@@ -0,0 +1,38 @@
+package com.async_alpha.api_simulator.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Converts simulator timestamps to and from plain epoch nanoseconds so hot loops
+ * can compare times with primitive arithmetic instead of Duration objects.
+ * LocalDateTime carries no zone, so UTC is used as a fixed reference offset.
+ */
+public final class EpochTime {
+
+    public static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private EpochTime() {
+    }
+
+    public static long toNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + time.getNano();
+    }
+
+    public static LocalDateTime fromNanos(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(
+            Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+            (int) Math.floorMod(epochNanos, NANOS_PER_SECOND),
+            ZoneOffset.UTC
+        );
+    }
+
+    public static int hourOfDay(long epochNanos) {
+        long secondOfDay = Math.floorMod(Math.floorDiv(epochNanos, NANOS_PER_SECOND), 86_400L);
+        return (int) (secondOfDay / 3_600);
+    }
+
+    public static long nowNanos() {
+        return toNanos(LocalDateTime.now());
+    }
+}
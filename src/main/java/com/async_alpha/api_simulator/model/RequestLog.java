@@ -1,26 +1,173 @@
 package com.async_alpha.api_simulator.model;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Per-client request history stored column-wise: epoch nanoseconds in a
+ * {@code long[]} and request type ordinals in a {@code byte[]}, about 9 bytes
+ * per request. The client id is kept once for the whole log. Expired entries
+ * are dropped from the front by {@link #trimBefore(long)}.
+ */
 public class RequestLog {
 
+    private static final RequestType[] TYPES = RequestType.values();
+    private static final int INITIAL_CAPACITY = 16;
+
     private final String clientId;
-    private final List<ServiceRequest> requests = new ArrayList<>();
+    private long[] epochNanos = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int head = 0;
+    private int tail = 0;
+    private boolean shared = false; // columns still belong to another log's snapshot
 
     public RequestLog(String clientId) {
         this.clientId = clientId;
     }
 
+    private RequestLog(Snapshot snapshot) {
+        this.clientId = snapshot.clientId;
+        this.epochNanos = snapshot.epochNanos;
+        this.types = snapshot.types;
+        this.head = snapshot.offset;
+        this.tail = snapshot.offset + snapshot.size;
+        this.shared = true;
+    }
+
     public void addRequest(ServiceRequest request) {
-        requests.add(request);
+        add(EpochTime.toNanos(request.getTimestamp()), request.getRequestType());
+    }
+
+    public synchronized void add(long epochNanos, RequestType requestType) {
+        if (shared || tail == this.epochNanos.length) {
+            reallocate();
+        }
+
+        this.epochNanos[tail] = epochNanos;
+        types[tail] = (byte) requestType.ordinal();
+        tail++;
+    }
+
+    /**
+     * Drops requests logged before {@code horizonNanos} from the front. Each entry
+     * is dropped at most once, so trimming after every append is amortised O(1).
+     * @return the number of requests dropped
+     */
+    public synchronized int trimBefore(long horizonNanos) {
+        int start = head;
+        while (head < tail && epochNanos[head] < horizonNanos) {
+            head++;
+        }
+        return head - start;
     }
 
+    /** Timestamp of the newest request, or {@code Long.MIN_VALUE} if the log is empty. */
+    public synchronized long getLatestNanos() {
+        return head == tail ? Long.MIN_VALUE : epochNanos[tail - 1];
+    }
+
+    /**
+     * O(1) consistent view of the requests logged so far. Entries below the
+     * view's size are never written again, so it can be scanned without locking
+     * while other threads keep logging.
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(clientId, epochNanos, types, head, tail - head);
+    }
+
+    /**
+     * @return an immutable list view; each element is materialised on access
+     */
     public List<ServiceRequest> getRequests() {
-        return requests;
+        return snapshot().asList();
+    }
+
+    public synchronized int size() {
+        return tail - head;
+    }
+
+    public synchronized boolean isEmpty() {
+        return head == tail;
     }
 
     public String getClientId() {
         return clientId;
     }
+
+    /**
+     * Full columns: compact instead of growing when at least half of them has
+     * been trimmed. Always copies into fresh arrays so snapshots stay valid.
+     */
+    private void reallocate() {
+        int size = tail - head;
+        int capacity = size * 2 <= epochNanos.length
+            ? epochNanos.length
+            : epochNanos.length * 2;
+
+        epochNanos = Arrays.copyOfRange(epochNanos, head, head + capacity);
+        types = Arrays.copyOfRange(types, head, head + capacity);
+        head = 0;
+        tail = size;
+        shared = false;
+    }
+
+    public static final class Snapshot {
+        private final String clientId;
+        private final long[] epochNanos;
+        private final byte[] types;
+        private final int offset;
+        private final int size;
+
+        private Snapshot(String clientId, long[] epochNanos, byte[] types, int offset, int size) {
+            this.clientId = clientId;
+            this.epochNanos = epochNanos;
+            this.types = types;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long getEpochNanos(int index) {
+            return epochNanos[offset + index];
+        }
+
+        public RequestType getRequestType(int index) {
+            return TYPES[types[offset + index]];
+        }
+
+        public LocalDateTime getTimestamp(int index) {
+            return EpochTime.fromNanos(epochNanos[offset + index]);
+        }
+
+        /**
+         * O(1) log holding exactly the requests of this snapshot, for code that
+         * takes a {@link RequestLog}. It shares the columns until its first
+         * append, which copies them, so neither log sees the other's requests.
+         */
+        public RequestLog toRequestLog() {
+            return new RequestLog(this);
+        }
+
+        public List<ServiceRequest> asList() {
+            return new AbstractList<>() {
+                @Override
+                public ServiceRequest get(int index) {
+                    if (index < 0 || index >= size) {
+                        throw new IndexOutOfBoundsException(index);
+                    }
+                    return new ServiceRequest(clientId, getRequestType(index), getTimestamp(index));
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
 }
\ No newline at end of file
@@ -7,9 +7,20 @@ public class ServiceRequest {
     private final String clientId;
     private final RequestType requestType;
     private final LocalDateTime timestamp;
+    private final Client client; // null when built from a bare id
+    private int clientIndex = -1; // in the default registry; interned on first use, racing writers store the same value
 
     public ServiceRequest(String clientId, RequestType requestType, LocalDateTime timestamp) {
+        this(clientId, null, requestType, timestamp);
+    }
+
+    public ServiceRequest(Client client, RequestType requestType, LocalDateTime timestamp) {
+        this(client.getClientId(), client, requestType, timestamp);
+    }
+
+    private ServiceRequest(String clientId, Client client, RequestType requestType, LocalDateTime timestamp) {
         this.clientId = clientId;
+        this.client = client;
         this.requestType = requestType;
         this.timestamp = timestamp;
     }
@@ -18,6 +29,32 @@ public class ServiceRequest {
         return clientId;
     }
 
+    /** Dense index of the client in the default {@link ClientRegistry}. */
+    public int getClientIndex() {
+        return getClientIndex(ClientRegistry.getDefault());
+    }
+
+    /**
+     * Dense index of the client in {@code registry}, registering it on first
+     * sight. Free when the request was built from a {@link Client} of the same
+     * registry.
+     */
+    public int getClientIndex(ClientRegistry registry) {
+        if (client != null && client.getRegistry() == registry) {
+            return client.getIndex();
+        }
+        if (registry != ClientRegistry.getDefault()) {
+            return registry.intern(clientId);
+        }
+
+        int index = clientIndex;
+        if (index < 0) {
+            index = ClientRegistry.getDefault().intern(clientId);
+            clientIndex = index;
+        }
+        return index;
+    }
+
     public RequestType getRequestType() {
         return requestType;
     }
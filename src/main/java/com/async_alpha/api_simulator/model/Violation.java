@@ -0,0 +1,213 @@
+package com.async_alpha.api_simulator.model;
+
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A policy violation as data. Policies record what they measured and the text
+ * is only rendered by {@link #getMessage()}, so analyses whose report is only
+ * checked for its level never format anything.
+ */
+public final class Violation {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final long[] NO_INTERVALS = new long[0];
+
+    public enum Kind {
+        FIXED_WINDOW_EXCEEDED("fixed-window"),
+        SLIDING_WINDOW_EXCEEDED("sliding-window"),
+        BURST("burst-detection"),
+        /** Bursts older than the listed ones, summarised by their number and the first of them. */
+        EARLIER_BURSTS("burst-detection"),
+        OFF_HOURS_ACTIVITY("abnormal-pattern"),
+        REQUEST_TYPE_IMBALANCE("abnormal-pattern"),
+        UNIFORM_INTERVALS("abnormal-pattern"),
+        RAPID_RETRIES("retry-abuse"),
+        CONSECUTIVE_REQUESTS("retry-abuse"),
+        /** Free text added through {@link AbuseReport#addViolation(String)}. */
+        MESSAGE("custom");
+
+        private final String policyId;
+
+        Kind(String policyId) {
+            this.policyId = policyId;
+        }
+
+        public String getPolicyId() {
+            return policyId;
+        }
+    }
+
+    private final Kind kind;
+    private final long count;
+    private final long limit;
+    private final Duration window;
+    private final double percentage;
+    private final RequestType requestType;
+    private final long[] intervals; // start and end epoch nanos, pairwise
+    private final long omittedIntervals; // left out after the first interval
+    private final String message;
+
+    private Violation(Kind kind, long count, long limit, Duration window, double percentage,
+                      RequestType requestType, long[] intervals, long omittedIntervals, String message) {
+        this.kind = kind;
+        this.count = count;
+        this.limit = limit;
+        this.window = window;
+        this.percentage = percentage;
+        this.requestType = requestType;
+        this.intervals = intervals;
+        this.omittedIntervals = omittedIntervals;
+        this.message = message;
+    }
+
+    /** A violation described by a single request count. */
+    public static Violation ofCount(Kind kind, long count) {
+        return new Violation(kind, count, 0, null, 0, null, NO_INTERVALS, 0, null);
+    }
+
+    /**
+     * A violation of a windowed limit.
+     * @param intervals start and end of each offending interval, in epoch nanos;
+     *                  the array is kept, not copied
+     */
+    public static Violation ofWindow(Kind kind, long peak, long limit, Duration window, long... intervals) {
+        return ofWindow(kind, peak, limit, window, intervals, 0);
+    }
+
+    /**
+     * A windowed violation that lists only some of its intervals.
+     * @param omittedIntervals number of intervals left out between the first
+     *                         listed interval and the rest
+     */
+    public static Violation ofWindow(Kind kind, long peak, long limit, Duration window, long[] intervals,
+                                     long omittedIntervals) {
+        if (intervals.length % 2 != 0) {
+            throw new IllegalArgumentException("intervals must be start/end pairs");
+        }
+        return new Violation(kind, peak, limit, window, 0, null, intervals, omittedIntervals, null);
+    }
+
+    /** A violation described by the share of requests, in percent, that showed it. */
+    public static Violation ofPercentage(Kind kind, double percentage, RequestType requestType) {
+        return new Violation(kind, 0, 0, null, percentage, requestType, NO_INTERVALS, 0, null);
+    }
+
+    public static Violation ofMessage(String message) {
+        return new Violation(Kind.MESSAGE, 0, 0, null, 0, null, NO_INTERVALS, 0, message);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getPolicyId() {
+        return kind.getPolicyId();
+    }
+
+    /**
+     * Number of requests involved, the peak for windowed violations, or the
+     * number of bursts summarised by {@link Kind#EARLIER_BURSTS}.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    /** Window the limit applies to, or {@code null}. */
+    public Duration getWindow() {
+        return window;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    /** Request type the violation is about, or {@code null}. */
+    public RequestType getRequestType() {
+        return requestType;
+    }
+
+    /** Number of intervals listed; see {@link #getOmittedIntervals()} for the rest. */
+    public int getIntervalCount() {
+        return intervals.length / 2;
+    }
+
+    /** Intervals counted but not listed, which fall after the first listed one. */
+    public long getOmittedIntervals() {
+        return omittedIntervals;
+    }
+
+    public long getIntervalStartNanos(int interval) {
+        return intervals[2 * interval];
+    }
+
+    public long getIntervalEndNanos(int interval) {
+        return intervals[2 * interval + 1];
+    }
+
+    /** Start of the first offending interval, or {@code -1} if the violation has none. */
+    public long getEpochNanos() {
+        return intervals.length == 0 ? -1 : intervals[0];
+    }
+
+    public String getMessage() {
+        switch (kind) {
+            case FIXED_WINDOW_EXCEEDED:
+                return "Fixed window limit exceeded: " + count + " requests";
+            case SLIDING_WINDOW_EXCEEDED:
+                return String.format(
+                    "Sliding window abuse detected: peak %d requests in %d seconds (limit %d) during %s",
+                    count, window.getSeconds(), limit, formatIntervals());
+            case BURST:
+                return String.format(
+                    "Burst detected: peak %d requests in %d seconds between %s and %s",
+                    count, window.getSeconds(), formatTime(intervals[0]), formatTime(intervals[1]));
+            case EARLIER_BURSTS:
+                return String.format(
+                    "%d earlier %s not listed, the first between %s and %s",
+                    count, count == 1 ? "burst" : "bursts", formatTime(intervals[0]), formatTime(intervals[1]));
+            case OFF_HOURS_ACTIVITY:
+                return String.format("Unusual activity: %d requests during off-hours (2-5 AM)", count);
+            case REQUEST_TYPE_IMBALANCE:
+                return String.format("Request type imbalance: %.1f%% are %s requests (potential scraping)",
+                    percentage, requestType);
+            case UNIFORM_INTERVALS:
+                return String.format(
+                    "Bot-like behavior: %.1f%% of requests have uniform intervals (automated script suspected)",
+                    percentage);
+            case RAPID_RETRIES:
+                return String.format("Retry abuse detected: %d rapid retry attempts (< 1 second apart)", count);
+            case CONSECUTIVE_REQUESTS:
+                return String.format("Excessive consecutive requests: %d requests in quick succession", count);
+            default:
+                return message;
+        }
+    }
+
+    private String formatIntervals() {
+        StringBuilder ranges = new StringBuilder();
+        for (int i = 0; i < intervals.length; i += 2) {
+            if (i > 0) {
+                ranges.append(", ");
+            }
+            ranges.append(formatTime(intervals[i])).append('-').append(formatTime(intervals[i + 1]));
+            if (i == 0 && omittedIntervals > 0) {
+                ranges.append(", ").append(omittedIntervals).append(" more");
+            }
+        }
+        return ranges.toString();
+    }
+
+    private static String formatTime(long epochNanos) {
+        return EpochTime.fromNanos(epochNanos).format(TIME_FORMAT);
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
@@ -2,13 +2,7 @@ package com.async_alpha.api_simulator.policy;
 
 import com.async_alpha.api_simulator.model.*;
 
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-public class AbnormalPatternPolicy implements RatePolicy {
+public class AbnormalPatternPolicy implements StreamingRatePolicy<AbnormalPatternPolicy.State> {
 
     private final int unusualHourThreshold; // Max requests allowed during off-hours
 
@@ -17,37 +11,46 @@ public class AbnormalPatternPolicy implements RatePolicy {
     }
 
     @Override
-    public void evaluate(RequestLog requestLog, AbuseReport report) {
-        List<ServiceRequest> requests = requestLog.getRequests();
-        
-        if (requests.isEmpty()) {
-            return;
+    public State newState() {
+        return new State();
+    }
+
+    @Override
+    public void onRequest(long time, long sinceLast, RequestType requestType, State state) {
+        int hour = EpochTime.hourOfDay(time);
+        if (hour >= 2 && hour < 5) {
+            state.offHoursCount++;
         }
 
-        detectOffHoursActivity(requests, report);
-        
-        detectRequestTypeImbalance(requests, report);
-        
-        detectUniformIntervals(requests, report);
-    }
+        state.typeCounts[requestType.ordinal()]++;
 
-    private void detectOffHoursActivity(List<ServiceRequest> requests, AbuseReport report) {
-        int offHoursCount = 0;
-        
-        for (ServiceRequest request : requests) {
-            LocalTime time = request.getTimestamp().toLocalTime();
-            int hour = time.getHour();
-            
-            if (hour >= 2 && hour < 5) {
-                offHoursCount++;
+        if (sinceLast != NO_PREVIOUS_REQUEST) {
+            long interval = Math.floorDiv(sinceLast, EpochTime.NANOS_PER_SECOND);
+            if (state.intervalCount > 0 && Math.abs(state.previousInterval - interval) <= 1) {
+                state.uniformCount++;
             }
+            state.previousInterval = interval;
+            state.intervalCount++;
         }
-        
-        if (offHoursCount > unusualHourThreshold) {
-            report.addViolation(String.format(
-                "Unusual activity: %d requests during off-hours (2-5 AM)",
-                offHoursCount
-            ));
+        state.totalRequests++;
+    }
+
+    @Override
+    public void snapshot(State state, AbuseReport report) {
+        if (state.totalRequests == 0) {
+            return;
+        }
+
+        detectOffHoursActivity(state, report);
+
+        detectRequestTypeImbalance(state, report);
+
+        detectUniformIntervals(state, report);
+    }
+
+    private void detectOffHoursActivity(State state, AbuseReport report) {
+        if (state.offHoursCount > unusualHourThreshold) {
+            report.addViolation(Violation.ofCount(Violation.Kind.OFF_HOURS_ACTIVITY, state.offHoursCount));
             
             if (report.getLevel() == ViolationLevel.NORMAL) {
                 report.setLevel(ViolationLevel.WARNING);
@@ -55,23 +58,13 @@ public class AbnormalPatternPolicy implements RatePolicy {
         }
     }
 
-    private void detectRequestTypeImbalance(List<ServiceRequest> requests, AbuseReport report) {
-        Map<RequestType, Integer> typeCounts = new HashMap<>();
-        
-        for (ServiceRequest request : requests) {
-            typeCounts.merge(request.getRequestType(), 1, Integer::sum);
-        }
-        
-        int totalRequests = requests.size();
-        for (Map.Entry<RequestType, Integer> entry : typeCounts.entrySet()) {
-            double percentage = (entry.getValue() * 100.0) / totalRequests;
+    private void detectRequestTypeImbalance(State state, AbuseReport report) {
+        int totalRequests = state.totalRequests;
+        for (RequestType type : RequestType.values()) {
+            double percentage = (state.typeCounts[type.ordinal()] * 100.0) / totalRequests;
             
             if (percentage > 90 && totalRequests >= 10) {
-                report.addViolation(String.format(
-                    "Request type imbalance: %.1f%% are %s requests (potential scraping)",
-                    percentage,
-                    entry.getKey()
-                ));
+                report.addViolation(Violation.ofPercentage(Violation.Kind.REQUEST_TYPE_IMBALANCE, percentage, type));
                 
                 if (report.getLevel() == ViolationLevel.NORMAL) {
                     report.setLevel(ViolationLevel.WARNING);
@@ -81,32 +74,24 @@ public class AbnormalPatternPolicy implements RatePolicy {
         }
     }
 
-    private void detectUniformIntervals(List<ServiceRequest> requests, AbuseReport report) {
-        if (requests.size() < 5) {
+    private void detectUniformIntervals(State state, AbuseReport report) {
+        if (state.totalRequests < 5) {
             return;
         }
         
-        long[] intervals = new long[requests.size() - 1];
-        for (int i = 0; i < requests.size() - 1; i++) {
-            LocalDateTime current = requests.get(i).getTimestamp();
-            LocalDateTime next = requests.get(i + 1).getTimestamp();
-            intervals[i] = java.time.Duration.between(current, next).getSeconds();
-        }
-        
-        int uniformCount = 0;
-        for (int i = 0; i < intervals.length - 1; i++) {
-            if (Math.abs(intervals[i] - intervals[i + 1]) <= 1) {
-                uniformCount++;
-            }
-        }
-        
-        double uniformPercentage = (uniformCount * 100.0) / intervals.length;
-        if (uniformPercentage > 70 && requests.size() >= 10) {
-            report.addViolation(String.format(
-                "Bot-like behavior: %.1f%% of requests have uniform intervals (automated script suspected)",
-                uniformPercentage
-            ));
+        double uniformPercentage = (state.uniformCount * 100.0) / state.intervalCount;
+        if (uniformPercentage > 70 && state.totalRequests >= 10) {
+            report.addViolation(Violation.ofPercentage(Violation.Kind.UNIFORM_INTERVALS, uniformPercentage, null));
             report.setLevel(ViolationLevel.CRITICAL);
         }
     }
-}
\ No newline at end of file
+
+    public static class State {
+        private final int[] typeCounts = new int[RequestType.values().length];
+        private int totalRequests = 0;
+        private int offHoursCount = 0;
+        private long previousInterval;
+        private int intervalCount = 0;
+        private int uniformCount = 0;
+    }
+}
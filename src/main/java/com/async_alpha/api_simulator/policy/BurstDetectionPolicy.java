@@ -3,10 +3,8 @@ package com.async_alpha.api_simulator.policy;
 import com.async_alpha.api_simulator.model.*;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.List;
 
-public class BurstDetectionPolicy implements RatePolicy {
+public class BurstDetectionPolicy implements StreamingRatePolicy<BurstDetectionPolicy.State> {
 
     private final int burstThreshold;  // Number of requests in burst window
     private final Duration burstWindow; // Time window to detect bursts (e.g., 3 seconds)
@@ -17,46 +15,132 @@ public class BurstDetectionPolicy implements RatePolicy {
     }
 
     @Override
-    public void evaluate(RequestLog requestLog, AbuseReport report) {
-        List<ServiceRequest> requests = requestLog.getRequests();
-        
-        if (requests.isEmpty()) {
-            return;
-        }
-
-        int burstCount = 0;
-        
-        for (int i = 0; i < requests.size(); i++) {
-            LocalDateTime startTime = requests.get(i).getTimestamp();
-            int count = 1;
-            
-            for (int j = i + 1; j < requests.size(); j++) {
-                Duration diff = Duration.between(startTime, requests.get(j).getTimestamp());
-                
-                if (diff.compareTo(burstWindow) <= 0) {
-                    count++;
-                } else {
-                    break; 
-                }
-            }
-            
-            if (count >= burstThreshold) {
-                burstCount++;
-                report.addViolation(String.format(
-                    "Burst detected: %d requests in %d seconds at %s",
-                    count,
-                    burstWindow.getSeconds(),
-                    startTime.format(java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss"))
-                ));
-            }
+    public Duration getWindow() {
+        return burstWindow;
+    }
+
+    @Override
+    public State newState() {
+        return new State();
+    }
+
+    /**
+     * Every request still in the window arrived within {@code burstWindow} of the
+     * oldest one, so when the oldest is evicted the window size is exactly the
+     * number of requests that followed it inside its burst window. Each request
+     * is added and evicted once, so the pass is linear however dense the traffic.
+     */
+    @Override
+    public void onRequest(long time, long sinceLast, RequestType requestType, State state) {
+        long horizon = time - burstWindow.toNanos();
+
+        while (!state.window.isEmpty() && state.window.first() < horizon) {
+            state.bursts.record(state.window.first(), state.window.last(), state.window.size(), burstThreshold);
+            state.window.removeFirst();
+        }
+
+        state.window.addLast(time);
+    }
+
+    @Override
+    public void snapshot(State state, AbuseReport report) {
+        Bursts bursts = state.bursts.copy();
+        int size = state.window.size();
+        for (int i = 0; i < size; i++) {
+            bursts.record(state.window.get(i), state.window.last(), size - i, burstThreshold);
+        }
+        bursts.close();
+
+        // only the most recent bursts are listed, so the report stays the same size
+        // however long the client keeps flooding
+        IntervalHistory intervals = bursts.closed;
+        int listedFrom = 0;
+        if (intervals.count() > IntervalHistory.RECENT) {
+            listedFrom = 1;
+            report.addViolation(Violation.ofWindow(
+                Violation.Kind.EARLIER_BURSTS,
+                intervals.count() - IntervalHistory.RECENT,
+                burstThreshold,
+                burstWindow,
+                intervals.start(0),
+                intervals.end(0)
+            ));
         }
-        
-        if (burstCount >= 3) {
+        for (int i = listedFrom; i < intervals.retained(); i++) {
+            report.addViolation(Violation.ofWindow(
+                Violation.Kind.BURST,
+                intervals.peak(i),
+                burstThreshold,
+                burstWindow,
+                intervals.start(i),
+                intervals.end(i)
+            ));
+        }
+
+        // every request that opened a burst window counts, as before merging
+        if (bursts.starts >= 3) {
             report.setLevel(ViolationLevel.CRITICAL);
-        } else if (burstCount >= 1) {
+        } else if (bursts.starts >= 1) {
             if (report.getLevel() == ViolationLevel.NORMAL) {
                 report.setLevel(ViolationLevel.WARNING);
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Maximal intervals covered by overlapping burst windows: the one still open
+     * and a fixed-size history of the closed ones.
+     */
+    private static class Bursts {
+        private IntervalHistory closed = new IntervalHistory();
+        private long starts = 0; // burst windows opened, over every interval
+        private boolean open = false;
+        private long openStart;
+        private long openEnd;
+        private int openPeak;
+
+        /**
+         * Burst windows are seen in order of their start, so a window either
+         * extends the open interval or closes it and opens the next one.
+         */
+        void record(long start, long end, int count, int threshold) {
+            if (count < threshold) {
+                return;
+            }
+            starts++;
+            if (open && start <= openEnd) {
+                openEnd = Math.max(openEnd, end);
+                openPeak = Math.max(openPeak, count);
+                return;
+            }
+            close();
+            open = true;
+            openStart = start;
+            openEnd = end;
+            openPeak = count;
+        }
+
+        void close() {
+            if (open) {
+                closed.add(openStart, openEnd, openPeak);
+                open = false;
+            }
+        }
+
+        Bursts copy() {
+            Bursts copy = new Bursts();
+            copy.closed = closed.copy();
+            copy.starts = starts;
+            copy.open = open;
+            copy.openStart = openStart;
+            copy.openEnd = openEnd;
+            copy.openPeak = openPeak;
+            return copy;
+        }
+    }
+
+    public static class State {
+        private final TimestampWindow window = new TimestampWindow();
+        private final Bursts bursts = new Bursts();
+    }
+}
@@ -0,0 +1,32 @@
+package com.async_alpha.api_simulator.policy;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The detection policies the dashboards run. The headless tools use the same
+ * set, so their analysis and log retention match the interactive app.
+ */
+public final class DefaultPolicies {
+
+    private DefaultPolicies() {
+    }
+
+    public static List<RatePolicy> create() {
+        return List.copyOf(scaled(1));
+    }
+
+    /**
+     * @param multiplier factor applied to every policy's threshold; the windows
+     *                   stay the same
+     */
+    public static List<StreamingRatePolicy<?>> scaled(int multiplier) {
+        return List.of(
+            new FixedWindowPolicy(5 * multiplier, Duration.ofSeconds(10)),
+            new SlidingWindowPolicy(5 * multiplier, Duration.ofSeconds(10)),
+            new BurstDetectionPolicy(4 * multiplier, Duration.ofSeconds(3)),  // 4 requests in 3 seconds = burst
+            new AbnormalPatternPolicy(3 * multiplier),  // Max 3 off-hours requests
+            new RetryAbusePolicy(8 * multiplier, Duration.ofSeconds(2))  // 8 consecutive rapid requests
+        );
+    }
+}
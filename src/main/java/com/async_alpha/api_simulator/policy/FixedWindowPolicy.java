@@ -3,9 +3,8 @@ package com.async_alpha.api_simulator.policy;
 import com.async_alpha.api_simulator.model.*;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 
-public class FixedWindowPolicy implements RatePolicy {
+public class FixedWindowPolicy implements StreamingRatePolicy<TimestampWindow> {
 
     private final int maxRequests;
     private final Duration window;
@@ -16,16 +15,34 @@ public class FixedWindowPolicy implements RatePolicy {
     }
 
     @Override
-    public void evaluate(RequestLog requestLog, AbuseReport report) {
-        LocalDateTime now = LocalDateTime.now();
+    public Duration getWindow() {
+        return window;
+    }
+
+    @Override
+    public TimestampWindow newState() {
+        return new TimestampWindow();
+    }
+
+    @Override
+    public void onRequest(long time, long sinceLast, RequestType requestType, TimestampWindow state) {
+        state.addLast(time);
+        state.evictBefore(time - window.toNanos());
+    }
 
-        long count = requestLog.getRequests().stream()
-                .filter(r -> Duration.between(r.getTimestamp(), now).compareTo(window) <= 0)
-                .count();
+    @Override
+    public void snapshot(TimestampWindow state, AbuseReport report) {
+        long horizon = EpochTime.nowNanos() - window.toNanos();
+
+        int expired = 0;
+        while (expired < state.size() && state.get(expired) < horizon) {
+            expired++;
+        }
+        long count = state.size() - expired;
 
         if (count > maxRequests) {
-            report.addViolation("Fixed window limit exceeded: " + count + " requests");
+            report.addViolation(Violation.ofWindow(Violation.Kind.FIXED_WINDOW_EXCEEDED, count, maxRequests, window));
             report.setLevel(ViolationLevel.WARNING);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.async_alpha.api_simulator.policy;
+
+import com.async_alpha.api_simulator.jfr.PolicyEvaluationEvent;
+import com.async_alpha.api_simulator.model.AbuseReport;
+import com.async_alpha.api_simulator.model.RequestLog;
+import com.async_alpha.api_simulator.model.RequestType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Evaluates several policies as one: the log is walked a single time and each
+ * request, with its inter-arrival time computed once, is handed to the
+ * accumulator of every {@link StreamingRatePolicy}. Other policies are
+ * evaluated on their own, over a log frozen at the same snapshot, so every
+ * policy sees the same requests. Results are written in policy order, so the
+ * report is the same as evaluating the policies one after another.
+ *
+ * The walk checks the thread's interrupt flag every few thousand requests and
+ * gives up with a {@link CancellationException} once it is set, so cancelling
+ * a superseded evaluation frees its thread instead of finishing a long log.
+ */
+public class FusedPolicyEvaluator implements RatePolicy {
+
+    private static final int INTERRUPT_CHECK_MASK = (1 << 12) - 1;
+
+    private final RatePolicy[] policies;
+    private final StreamingRatePolicy<Object>[] streaming; // null where a policy is not streaming
+
+    @SuppressWarnings("unchecked")
+    public FusedPolicyEvaluator(List<? extends RatePolicy> policies) {
+        this.policies = policies.toArray(new RatePolicy[0]);
+        this.streaming = (StreamingRatePolicy<Object>[]) new StreamingRatePolicy<?>[this.policies.length];
+
+        for (int i = 0; i < this.policies.length; i++) {
+            if (this.policies[i] instanceof StreamingRatePolicy) {
+                streaming[i] = (StreamingRatePolicy<Object>) this.policies[i];
+            }
+        }
+    }
+
+    @Override
+    public void evaluate(RequestLog requestLog, AbuseReport report) {
+        if (new PolicyEvaluationEvent().isEnabled()) {
+            evaluateTimed(requestLog, report);
+            return;
+        }
+
+        Object[] states = new Object[policies.length];
+        for (int p = 0; p < policies.length; p++) {
+            if (streaming[p] != null) {
+                states[p] = streaming[p].newState();
+            }
+        }
+
+        RequestLog.Snapshot requests = requestLog.snapshot();
+        long previous = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            long time = requests.getEpochNanos(i);
+            long sinceLast = i == 0 ? StreamingRatePolicy.NO_PREVIOUS_REQUEST : time - previous;
+            RequestType type = requests.getRequestType(i);
+            checkInterrupted(i, requestLog);
+
+            for (int p = 0; p < policies.length; p++) {
+                if (streaming[p] != null) {
+                    streaming[p].onRequest(time, sinceLast, type, states[p]);
+                }
+            }
+            previous = time;
+        }
+
+        RequestLog frozen = null;
+        for (int p = 0; p < policies.length; p++) {
+            if (streaming[p] != null) {
+                streaming[p].snapshot(states[p], report);
+            } else {
+                if (frozen == null) {
+                    frozen = requests.toRequestLog();
+                }
+                policies[p].evaluate(frozen, report);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the policies one after another over the same snapshot, with a
+     * {@link PolicyEvaluationEvent} per policy; only used while a recording
+     * has the event enabled. The report is the same as from the fused pass.
+     */
+    private void evaluateTimed(RequestLog requestLog, AbuseReport report) {
+        RequestLog.Snapshot requests = requestLog.snapshot();
+        RequestLog frozen = null;
+
+        for (int p = 0; p < policies.length; p++) {
+            PolicyEvaluationEvent event = new PolicyEvaluationEvent();
+            int violationsBefore = report.getViolations().size();
+            event.begin();
+
+            if (streaming[p] != null) {
+                Object state = streaming[p].newState();
+                long previous = 0;
+                for (int i = 0; i < requests.size(); i++) {
+                    long time = requests.getEpochNanos(i);
+                    long sinceLast = i == 0 ? StreamingRatePolicy.NO_PREVIOUS_REQUEST : time - previous;
+                    streaming[p].onRequest(time, sinceLast, requests.getRequestType(i), state);
+                    checkInterrupted(i, requestLog);
+                    previous = time;
+                }
+                streaming[p].snapshot(state, report);
+            } else {
+                if (frozen == null) {
+                    frozen = requests.toRequestLog();
+                }
+                policies[p].evaluate(frozen, report);
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.clientId = requestLog.getClientId();
+                event.policy = policies[p].getClass();
+                event.logSize = requests.size();
+                event.violations = report.getViolations().size() - violationsBefore;
+                event.commit();
+            }
+        }
+    }
+
+    private static void checkInterrupted(int request, RequestLog requestLog) {
+        if ((request & INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Evaluation of " + requestLog.getClientId() + " was interrupted");
+        }
+    }
+
+    /** Longest window of the fused policies. */
+    @Override
+    public Duration getWindow() {
+        Duration longest = Duration.ZERO;
+
+        for (RatePolicy policy : policies) {
+            if (policy.getWindow().compareTo(longest) > 0) {
+                longest = policy.getWindow();
+            }
+        }
+
+        return longest;
+    }
+}
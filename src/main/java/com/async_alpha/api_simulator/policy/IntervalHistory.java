@@ -0,0 +1,99 @@
+package com.async_alpha.api_simulator.policy;
+
+/**
+ * Fixed-size record of the offending intervals a streaming policy has closed:
+ * how many there were, the first one and the {@link #RECENT} most recent ones,
+ * each with its peak count. Older intervals are only counted, so per-client
+ * state and snapshot cost stay constant however long a client is observed.
+ */
+public class IntervalHistory {
+
+    static final int RECENT = 8;
+
+    private final long[] recent = new long[3 * RECENT]; // start, end and peak per interval, oldest at head
+    private int head = 0;
+    private int size = 0;
+    private long count = 0;
+    private long firstStart;
+    private long firstEnd;
+    private long firstPeak;
+
+    void add(long start, long end, long peak) {
+        if (count == 0) {
+            firstStart = start;
+            firstEnd = end;
+            firstPeak = peak;
+        }
+        count++;
+
+        int slot;
+        if (size < RECENT) {
+            slot = (head + size++) % RECENT;
+        } else {
+            slot = head;
+            head = (head + 1) % RECENT;
+        }
+        recent[3 * slot] = start;
+        recent[3 * slot + 1] = end;
+        recent[3 * slot + 2] = peak;
+    }
+
+    /** Number of intervals ever added. */
+    long count() {
+        return count;
+    }
+
+    /** Intervals that are neither the first nor among the most recent. */
+    long omitted() {
+        return count - retained();
+    }
+
+    /** Number of intervals still held: the first, if evicted from the recent ones, then the recent ones. */
+    int retained() {
+        return count > size ? size + 1 : size;
+    }
+
+    long start(int interval) {
+        return field(interval, 0);
+    }
+
+    long end(int interval) {
+        return field(interval, 1);
+    }
+
+    long peak(int interval) {
+        return field(interval, 2);
+    }
+
+    /** Start and end of every retained interval, pairwise and oldest first. */
+    long[] toArray() {
+        long[] intervals = new long[2 * retained()];
+        for (int i = 0; i < retained(); i++) {
+            intervals[2 * i] = start(i);
+            intervals[2 * i + 1] = end(i);
+        }
+        return intervals;
+    }
+
+    IntervalHistory copy() {
+        IntervalHistory copy = new IntervalHistory();
+        System.arraycopy(recent, 0, copy.recent, 0, recent.length);
+        copy.head = head;
+        copy.size = size;
+        copy.count = count;
+        copy.firstStart = firstStart;
+        copy.firstEnd = firstEnd;
+        copy.firstPeak = firstPeak;
+        return copy;
+    }
+
+    private long field(int interval, int offset) {
+        if (count > size) {
+            if (interval == 0) {
+                return offset == 0 ? firstStart : offset == 1 ? firstEnd : firstPeak;
+            }
+            interval--;
+        }
+        return recent[3 * ((head + interval) % RECENT) + offset];
+    }
+}
@@ -3,7 +3,18 @@ package com.async_alpha.api_simulator.policy;
 import com.async_alpha.api_simulator.model.AbuseReport;
 import com.async_alpha.api_simulator.model.RequestLog;
 
+import java.time.Duration;
+
 public interface RatePolicy {
 
     void evaluate(RequestLog requestLog, AbuseReport report);
+
+    /**
+     * Longest stretch of history the policy looks back over, used to size log
+     * retention. Policies that only count over whatever history is retained
+     * return {@code Duration.ZERO}.
+     */
+    default Duration getWindow() {
+        return Duration.ZERO;
+    }
 }
@@ -3,10 +3,10 @@ package com.async_alpha.api_simulator.policy;
 import com.async_alpha.api_simulator.model.*;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.List;
 
-public class RetryAbusePolicy implements RatePolicy {
+public class RetryAbusePolicy implements StreamingRatePolicy<RetryAbusePolicy.State> {
+
+    private static final long RAPID_RETRY_NANOS = Duration.ofSeconds(1).toNanos();
 
     private final int maxConsecutiveBlocked; // Max allowed consecutive blocked requests
     private final Duration retryWindow; // Time window to check for retry patterns
@@ -17,68 +17,60 @@ public class RetryAbusePolicy implements RatePolicy {
     }
 
     @Override
-    public void evaluate(RequestLog requestLog, AbuseReport report) {
-        List<ServiceRequest> requests = requestLog.getRequests();
-        
-        if (requests.size() < maxConsecutiveBlocked) {
+    public State newState() {
+        return new State();
+    }
+
+    @Override
+    public void onRequest(long time, long sinceLast, RequestType requestType, State state) {
+        if (sinceLast != NO_PREVIOUS_REQUEST) {
+            if (sinceLast < RAPID_RETRY_NANOS) {
+                state.rapidRetryCount++;
+            }
+
+            if (sinceLast <= retryWindow.toNanos()) {
+                state.consecutiveRapid++;
+                state.maxConsecutive = Math.max(state.maxConsecutive, state.consecutiveRapid);
+            } else {
+                state.consecutiveRapid = 0;
+            }
+        }
+
+        state.totalRequests++;
+    }
+
+    @Override
+    public void snapshot(State state, AbuseReport report) {
+        if (state.totalRequests < maxConsecutiveBlocked) {
             return;
         }
 
-        detectRapidRetries(requests, report);
+        detectRapidRetries(state, report);
 
-        detectSuspiciousRapidRequests(requests, report);
+        detectSuspiciousRapidRequests(state, report);
     }
 
-    private void detectRapidRetries(List<ServiceRequest> requests, AbuseReport report) {
-        int rapidRetryCount = 0;
-        
-        for (int i = 0; i < requests.size() - 1; i++) {
-            Duration timeBetween = Duration.between(
-                requests.get(i).getTimestamp(),
-                requests.get(i + 1).getTimestamp()
-            );
-            
-            if (timeBetween.toMillis() < 1000) {
-                rapidRetryCount++;
-            }
-        }
-        
-        if (rapidRetryCount > 5) {
-            report.addViolation(String.format(
-                "Retry abuse detected: %d rapid retry attempts (< 1 second apart)",
-                rapidRetryCount
-            ));
+    private void detectRapidRetries(State state, AbuseReport report) {
+        if (state.rapidRetryCount > 5) {
+            report.addViolation(Violation.ofCount(Violation.Kind.RAPID_RETRIES, state.rapidRetryCount));
             report.setLevel(ViolationLevel.CRITICAL);
         }
     }
 
-    private void detectSuspiciousRapidRequests(List<ServiceRequest> requests, AbuseReport report) {
-        int consecutiveRapid = 0;
-        int maxConsecutive = 0;
-        
-        for (int i = 0; i < requests.size() - 1; i++) {
-            Duration timeBetween = Duration.between(
-                requests.get(i).getTimestamp(),
-                requests.get(i + 1).getTimestamp()
-            );
-            
-            if (timeBetween.compareTo(retryWindow) <= 0) {
-                consecutiveRapid++;
-                maxConsecutive = Math.max(maxConsecutive, consecutiveRapid);
-            } else {
-                consecutiveRapid = 0;
-            }
-        }
-        
-        if (maxConsecutive >= maxConsecutiveBlocked) {
-            report.addViolation(String.format(
-                "Excessive consecutive requests: %d requests in quick succession",
-                maxConsecutive + 1
-            ));
-            
+    private void detectSuspiciousRapidRequests(State state, AbuseReport report) {
+        if (state.maxConsecutive >= maxConsecutiveBlocked) {
+            report.addViolation(Violation.ofCount(Violation.Kind.CONSECUTIVE_REQUESTS, state.maxConsecutive + 1));
+
             if (report.getLevel() == ViolationLevel.NORMAL) {
                 report.setLevel(ViolationLevel.WARNING);
             }
         }
     }
-}
\ No newline at end of file
+
+    public static class State {
+        private int totalRequests = 0;
+        private int rapidRetryCount = 0;
+        private int consecutiveRapid = 0;
+        private int maxConsecutive = 0;
+    }
+}
@@ -3,9 +3,8 @@ package com.async_alpha.api_simulator.policy;
 import com.async_alpha.api_simulator.model.*;
 
 import java.time.Duration;
-import java.util.List;
 
-public class SlidingWindowPolicy implements RatePolicy {
+public class SlidingWindowPolicy implements StreamingRatePolicy<SlidingWindowPolicy.State> {
 
     private final int maxRequests;
     private final Duration window;
@@ -16,27 +15,70 @@ public class SlidingWindowPolicy implements RatePolicy {
     }
 
     @Override
-    public void evaluate(RequestLog requestLog, AbuseReport report) {
-        List<ServiceRequest> requests = requestLog.getRequests();
-
-        for (int i = 0; i < requests.size(); i++) {
-            int count = 1;
-
-            for (int j = i + 1; j < requests.size(); j++) {
-                Duration diff = Duration.between(
-                        requests.get(i).getTimestamp(),
-                        requests.get(j).getTimestamp()
-                );
-
-                if (diff.compareTo(window) <= 0) {
-                    count++;
-                }
-
-                if (count > maxRequests) {
-                    report.addViolation("Sliding window abuse detected");
-                    report.setLevel(ViolationLevel.CRITICAL);
-                    return;
-                }
+    public Duration getWindow() {
+        return window;
+    }
+
+    @Override
+    public State newState() {
+        return new State();
+    }
+
+    /**
+     * The trailing window only ever holds requests within {@code window} of the
+     * newest one, so each request enters and leaves it exactly once.
+     */
+    @Override
+    public void onRequest(long time, long sinceLast, RequestType requestType, State state) {
+        state.window.addLast(time);
+        state.window.evictBefore(time - window.toNanos());
+
+        int inWindow = state.window.size();
+        state.peak = Math.max(state.peak, inWindow);
+
+        if (inWindow > maxRequests) {
+            long windowStart = state.window.first();
+            if (state.rangeStart < 0 || windowStart > state.rangeEnd) {
+                state.closeRange();
+                state.rangeStart = windowStart;
+                state.rangePeak = 0;
+            }
+            state.rangeEnd = time;
+            state.rangePeak = Math.max(state.rangePeak, inWindow);
+        }
+    }
+
+    @Override
+    public void snapshot(State state, AbuseReport report) {
+        if (state.rangeStart < 0) {
+            return;
+        }
+
+        IntervalHistory ranges = state.ranges.copy();
+        ranges.add(state.rangeStart, state.rangeEnd, state.rangePeak);
+
+        report.addViolation(Violation.ofWindow(
+            Violation.Kind.SLIDING_WINDOW_EXCEEDED,
+            state.peak,
+            maxRequests,
+            window,
+            ranges.toArray(),
+            ranges.omitted()
+        ));
+        report.setLevel(ViolationLevel.CRITICAL);
+    }
+
+    public static class State {
+        private final TimestampWindow window = new TimestampWindow();
+        private final IntervalHistory ranges = new IntervalHistory(); // closed ranges
+        private int peak = 0;
+        private long rangeStart = -1;
+        private long rangeEnd = -1;
+        private int rangePeak = 0;
+
+        private void closeRange() {
+            if (rangeStart >= 0) {
+                ranges.add(rangeStart, rangeEnd, rangePeak);
             }
         }
     }
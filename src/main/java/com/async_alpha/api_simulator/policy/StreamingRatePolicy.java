@@ -0,0 +1,50 @@
+package com.async_alpha.api_simulator.policy;
+
+import com.async_alpha.api_simulator.model.AbuseReport;
+import com.async_alpha.api_simulator.model.RequestLog;
+import com.async_alpha.api_simulator.model.RequestType;
+
+/**
+ * A policy that consumes requests one at a time and keeps only a small
+ * per-client detector state, so analysing a live stream costs O(1) per request
+ * instead of rescanning the whole log.
+ *
+ * @param <S> the per-client detector state
+ */
+public interface StreamingRatePolicy<S> extends RatePolicy {
+
+    /** Time since the previous request passed for a client's first request. */
+    long NO_PREVIOUS_REQUEST = Long.MIN_VALUE;
+
+    S newState();
+
+    /**
+     * Takes primitives so replaying a columnar {@link RequestLog} creates no
+     * request objects. The time since the client's previous request is
+     * computed once by the caller and shared by every policy it feeds.
+     * @param sinceLastNanos nanoseconds since the client's previous request, or
+     *                       {@link #NO_PREVIOUS_REQUEST} for its first one
+     */
+    void onRequest(long epochNanos, long sinceLastNanos, RequestType requestType, S state);
+
+    /**
+     * Writes the violations found so far into the report. Must not modify the
+     * state, so it can be called any number of times between requests.
+     */
+    void snapshot(S state, AbuseReport report);
+
+    @Override
+    default void evaluate(RequestLog requestLog, AbuseReport report) {
+        S state = newState();
+        RequestLog.Snapshot requests = requestLog.snapshot();
+
+        long previous = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            long time = requests.getEpochNanos(i);
+            onRequest(time, i == 0 ? NO_PREVIOUS_REQUEST : time - previous, requests.getRequestType(i), state);
+            previous = time;
+        }
+
+        snapshot(state, report);
+    }
+}
@@ -0,0 +1,61 @@
+package com.async_alpha.api_simulator.policy;
+
+/**
+ * Growable ring of epoch-nanosecond timestamps used as the trailing window of the
+ * streaming policies. Appends and evictions are amortised O(1).
+ */
+public class TimestampWindow {
+
+    private long[] times = new long[16];
+    private int head = 0;
+    private int size = 0;
+
+    void addLast(long time) {
+        if (size == times.length) {
+            grow();
+        }
+        times[(head + size) & (times.length - 1)] = time;
+        size++;
+    }
+
+    long first() {
+        return times[head];
+    }
+
+    long last() {
+        return times[(head + size - 1) & (times.length - 1)];
+    }
+
+    long get(int index) {
+        return times[(head + index) & (times.length - 1)];
+    }
+
+    void removeFirst() {
+        head = (head + 1) & (times.length - 1);
+        size--;
+    }
+
+    /** Drops every timestamp older than {@code horizon}. */
+    void evictBefore(long horizon) {
+        while (size > 0 && first() < horizon) {
+            removeFirst();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void grow() {
+        long[] grown = new long[times.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = get(i);
+        }
+        times = grown;
+        head = 0;
+    }
+}
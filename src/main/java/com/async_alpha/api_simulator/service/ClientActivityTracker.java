@@ -1,33 +1,132 @@
 package com.async_alpha.api_simulator.service;
 
 import com.async_alpha.api_simulator.model.*;
+import com.async_alpha.api_simulator.policy.RatePolicy;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ClientActivityTracker {
 
-    private final Map<String, ClientActivity> activities = new HashMap<>();
+    private static final int MIN_SWEEP_INTERVAL = 1_024;
+
+    private final ClientRegistry registry;
+    private final ClientTable<ClientActivity> activities = new ClientTable<>();
+    private final ClientLocks locks = new ClientLocks();
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private final Duration retention;
+    private final AtomicLong tracksSinceSweep = new AtomicLong();
+
+    /** Tracker that keeps every activity record forever. */
+    public ClientActivityTracker() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * @param retention how far behind a client's newest request its records are
+     *                  kept, and how long a client may stay idle before its
+     *                  records are dropped; {@code Duration.ZERO} keeps everything
+     */
+    public ClientActivityTracker(Duration retention) {
+        this(retention, ClientRegistry.getDefault());
+    }
+
+    public ClientActivityTracker(Duration retention, ClientRegistry registry) {
+        this.retention = retention;
+        this.registry = registry;
+    }
+
+    /** Tracker that keeps records as long as a logger built with the same arguments keeps history. */
+    public ClientActivityTracker(List<? extends RatePolicy> policies, Duration enforcerWindow, ClientRegistry registry) {
+        this(RequestLogger.retentionFor(policies, enforcerWindow), registry);
+    }
 
     public void trackRequest(ServiceRequest request, boolean wasBlocked) {
-        activities
-            .computeIfAbsent(request.getClientId(), ClientActivity::new)
-            .recordActivity(request, wasBlocked);
+        int clientIndex = request.getClientIndex(registry);
+        LocalDateTime horizon = retention.isZero() ? null : request.getTimestamp().minus(retention);
+
+        synchronized (locks.forClient(clientIndex)) {
+            ClientActivity activity = activities.get(clientIndex);
+            if (activity == null) {
+                activity = new ClientActivity(request.getClientId());
+                activities.set(clientIndex, activity);
+            }
+            activity.recordActivity(request, wasBlocked);
+            if (horizon != null) {
+                activity.trimBefore(horizon);
+            }
+        }
+
+        if (horizon != null) {
+            long tracks = tracksSinceSweep.incrementAndGet();
+            if (tracks >= Math.max(MIN_SWEEP_INTERVAL, registry.size())
+                    && tracksSinceSweep.compareAndSet(tracks, 0)) {
+                evictIdleClients();
+            }
+        }
     }
 
     public ClientActivity getActivity(String clientId) {
-        return activities.get(clientId);
+        int clientIndex = registry.indexOf(clientId);
+        return clientIndex < 0 ? null : activities.get(clientIndex);
     }
 
+    /**
+     * @return a snapshot of the tracked clients in registration order
+     */
     public Map<String, ClientActivity> getAllActivities() {
-        return activities;
+        Map<String, ClientActivity> all = new LinkedHashMap<>();
+        int clients = registry.size();
+        for (int i = 0; i < clients; i++) {
+            ClientActivity activity = activities.get(i);
+            if (activity != null) {
+                all.put(activity.getClientId(), activity);
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Drops the records of clients idle for longer than the retention relative to
+     * the newest activity seen; amortised O(1) per tracked request. The request
+     * counters are kept, so a returning client's totals carry on.
+     */
+    private void evictIdleClients() {
+        int clients = registry.size();
+        LocalDateTime latest = null;
+        for (int i = 0; i < clients; i++) {
+            ClientActivity activity = activities.get(i);
+            LocalDateTime last = activity == null ? null : activity.getLastTimestamp();
+            if (last != null && (latest == null || last.isAfter(latest))) {
+                latest = last;
+            }
+        }
+
+        if (latest == null) {
+            return;
+        }
+
+        LocalDateTime horizon = latest.minus(retention);
+        for (int i = 0; i < clients; i++) {
+            synchronized (locks.forClient(i)) {
+                ClientActivity activity = activities.get(i);
+                if (activity == null) {
+                    continue;
+                }
+                LocalDateTime last = activity.getLastTimestamp();
+                if (last != null && last.isBefore(horizon)) {
+                    activity.dropRecords();
+                }
+            }
+        }
     }
 
     public static class ClientActivity {
         private final String clientId;
-        private final List<ActivityRecord> records = new ArrayList<>();
+        private Deque<ActivityRecord> records = new ArrayDeque<>();
         private int totalRequests = 0;
         private int blockedRequests = 0;
         private int allowedRequests = 0;
@@ -36,7 +135,7 @@ public class ClientActivityTracker {
             this.clientId = clientId;
         }
 
-        public void recordActivity(ServiceRequest request, boolean blocked) {
+        public synchronized void recordActivity(ServiceRequest request, boolean blocked) {
             totalRequests++;
             if (blocked) {
                 blockedRequests++;
@@ -49,37 +148,79 @@ public class ClientActivityTracker {
                 request.getRequestType(),
                 blocked
             );
-            records.add(record);
+            records.addLast(record);
+        }
+
+        /**
+         * Drops records older than {@code horizon}; the request counters are kept.
+         */
+        public synchronized void trimBefore(LocalDateTime horizon) {
+            while (!records.isEmpty() && records.peekFirst().getTimestamp().isBefore(horizon)) {
+                records.pollFirst();
+            }
+        }
+
+        /**
+         * Drops every record and the capacity they grew, keeping the counters.
+         */
+        synchronized void dropRecords() {
+            records = new ArrayDeque<>();
         }
 
         public String getClientId() {
             return clientId;
         }
 
-        public int getTotalRequests() {
+        public synchronized int getTotalRequests() {
             return totalRequests;
         }
 
-        public int getBlockedRequests() {
+        public synchronized int getBlockedRequests() {
             return blockedRequests;
         }
 
-        public int getAllowedRequests() {
+        public synchronized int getAllowedRequests() {
             return allowedRequests;
         }
 
-        public double getSuccessRate() {
+        public synchronized double getSuccessRate() {
             if (totalRequests == 0) return 100.0;
             return (allowedRequests * 100.0) / totalRequests;
         }
 
-        public List<ActivityRecord> getRecords() {
-            return records;
+        /**
+         * @return an immutable snapshot of the records logged so far
+         */
+        public synchronized List<ActivityRecord> getRecords() {
+            return List.copyOf(records);
         }
 
-        public String getLastActivityTime() {
+        /**
+         * Appends the records logged after the first {@code sequence} requests to
+         * {@code into}, oldest first, but at most the newest {@code limit} of them.
+         * Costs O(appended) however long the history is.
+         * @return the sequence to pass next time, i.e. the requests seen so far
+         */
+        public synchronized int drainRecordsSince(int sequence, int limit, List<ActivityRecord> into) {
+            int count = Math.min(Math.min(totalRequests - sequence, records.size()), limit);
+            if (count > 0) {
+                ActivityRecord[] newest = new ActivityRecord[count];
+                Iterator<ActivityRecord> descending = records.descendingIterator();
+                for (int i = count - 1; i >= 0; i--) {
+                    newest[i] = descending.next();
+                }
+                into.addAll(Arrays.asList(newest));
+            }
+            return totalRequests;
+        }
+
+        public synchronized String getLastActivityTime() {
             if (records.isEmpty()) return "N/A";
-            return records.get(records.size() - 1).getTimestamp().format(formatter);
+            return records.peekLast().getTimestamp().format(formatter);
+        }
+
+        synchronized LocalDateTime getLastTimestamp() {
+            return records.isEmpty() ? null : records.peekLast().getTimestamp();
         }
     }
 
@@ -87,6 +228,7 @@ public class ClientActivityTracker {
         private final LocalDateTime timestamp;
         private final RequestType requestType;
         private final boolean blocked;
+        private String formattedTime; // racy but idempotent cache for table cells
 
         public ActivityRecord(LocalDateTime timestamp, RequestType requestType, boolean blocked) {
             this.timestamp = timestamp;
@@ -111,7 +253,12 @@ public class ClientActivityTracker {
         }
 
         public String getFormattedTime() {
-            return timestamp.format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+            String formatted = formattedTime;
+            if (formatted == null) {
+                formatted = timestamp.format(formatter);
+                formattedTime = formatted;
+            }
+            return formatted;
         }
     }
 }
\ No newline at end of file
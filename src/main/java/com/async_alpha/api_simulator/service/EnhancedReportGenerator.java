@@ -1,5 +1,7 @@
 package com.async_alpha.api_simulator.service;
 
+import com.async_alpha.api_simulator.metrics.DecisionMetrics;
+import com.async_alpha.api_simulator.metrics.LatencyHistogram;
 import com.async_alpha.api_simulator.model.*;
 import com.async_alpha.api_simulator.service.ClientActivityTracker.ClientActivity;
 
@@ -44,11 +46,12 @@ public class EnhancedReportGenerator {
             sb.append(String.format("Last Activity:    %s\n\n", activity.getLastActivityTime()));
         }
         
-        if (log != null && !log.getRequests().isEmpty()) {
+        RequestLog.Snapshot requests = log != null ? log.snapshot() : null;
+        if (requests != null && requests.size() > 0) {
             sb.append("REQUEST TYPE DISTRIBUTION\n");
             sb.append("─────────────────────────────────────────────────────────\n");
-            Map<RequestType, Integer> distribution = getRequestTypeDistribution(log);
-            int total = log.getRequests().size();
+            Map<RequestType, Integer> distribution = getRequestTypeDistribution(requests);
+            int total = requests.size();
             
             for (Map.Entry<RequestType, Integer> entry : distribution.entrySet()) {
                 double percentage = (entry.getValue() * 100.0) / total;
@@ -67,7 +70,7 @@ public class EnhancedReportGenerator {
             sb.append(String.format("Total Violations: %d\n\n", report.getViolations().size()));
             
             int violationNum = 1;
-            for (String violation : report.getViolations()) {
+            for (String violation : report.getViolationMessages()) {
                 sb.append(String.format("[%d] %s %s\n", 
                     violationNum++, 
                     "⚠️",
@@ -110,11 +113,12 @@ public class EnhancedReportGenerator {
             sb.append(String.format("Success Rate:     %.1f%%\n", activity.getSuccessRate()));
         }
         
-        if (log != null && !log.getRequests().isEmpty()) {
+        RequestLog.Snapshot requests = log != null ? log.snapshot() : null;
+        if (requests != null && requests.size() > 0) {
             sb.append(String.format("\nFirst Request:    %s\n", 
-                log.getRequests().get(0).getTimestamp().format(TIME_FORMAT)));
+                requests.getTimestamp(0).format(TIME_FORMAT)));
             sb.append(String.format("Latest Request:   %s\n", 
-                log.getRequests().get(log.getRequests().size() - 1).getTimestamp().format(TIME_FORMAT)));
+                requests.getTimestamp(requests.size() - 1).format(TIME_FORMAT)));
         }
         
         sb.append("\n════════════════════════════════════════════\n");
@@ -148,11 +152,46 @@ public class EnhancedReportGenerator {
         return sb.toString();
     }
     
-    private Map<RequestType, Integer> getRequestTypeDistribution(RequestLog log) {
+    public String generatePerformanceReport(DecisionMetrics metrics, LatencyHistogram analysisLatency) {
+        StringBuilder sb = new StringBuilder();
+        
+        sb.append("═══════════════════════════════════════════════════════════\n");
+        sb.append("                   PERFORMANCE METRICS                     \n");
+        sb.append("═══════════════════════════════════════════════════════════\n\n");
+        
+        sb.append(String.format("Decisions:        %,d (%,d allowed, %,d blocked)\n",
+            metrics.getRequests(), metrics.getAllowed(), metrics.getBlocked()));
+        sb.append(String.format("Throughput:       %,.1f decisions/s\n", metrics.getThroughput()));
+        for (RequestType type : RequestType.values()) {
+            sb.append(String.format("  %-10s      %,d\n", type, metrics.getRequests(type)));
+        }
+        sb.append("\n");
+        
+        sb.append(String.format("%-12s | %10s | %10s | %10s | %10s\n",
+            "LATENCY", "P50", "P99", "P99.9", "MAX"));
+        sb.append("─────────────────────────────────────────────────────────\n");
+        appendLatencyRow(sb, "Decision", metrics.getLatency());
+        appendLatencyRow(sb, "Analysis", analysisLatency);
+        
+        sb.append("═══════════════════════════════════════════════════════════\n");
+        
+        return sb.toString();
+    }
+
+    private void appendLatencyRow(StringBuilder sb, String label, LatencyHistogram latency) {
+        sb.append(String.format("%-12s | %10s | %10s | %10s | %10s\n",
+            label,
+            LatencyHistogram.formatNanos(latency.getP50Nanos()),
+            LatencyHistogram.formatNanos(latency.getP99Nanos()),
+            LatencyHistogram.formatNanos(latency.getP999Nanos()),
+            LatencyHistogram.formatNanos(latency.getMaxNanos())));
+    }
+    
+    private Map<RequestType, Integer> getRequestTypeDistribution(RequestLog.Snapshot requests) {
         Map<RequestType, Integer> distribution = new EnumMap<>(RequestType.class);
         
-        for (ServiceRequest request : log.getRequests()) {
-            distribution.merge(request.getRequestType(), 1, Integer::sum);
+        for (int i = 0; i < requests.size(); i++) {
+            distribution.merge(requests.getRequestType(i), 1, Integer::sum);
         }
         
         return distribution;
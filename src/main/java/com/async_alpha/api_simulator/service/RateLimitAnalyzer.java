@@ -1,25 +1,151 @@
 package com.async_alpha.api_simulator.service;
 
+import com.async_alpha.api_simulator.metrics.LatencyHistogram;
 import com.async_alpha.api_simulator.model.*;
+import com.async_alpha.api_simulator.policy.FusedPolicyEvaluator;
 import com.async_alpha.api_simulator.policy.RatePolicy;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class RateLimitAnalyzer {
+public class RateLimitAnalyzer implements AutoCloseable {
 
-    private final List<RatePolicy> policies;
+    private static final int LOGS_PER_TASK = 64;
 
+    private final FusedPolicyEvaluator evaluator;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final ForkJoinPool pool; // null when analyzeAll runs on the caller
+
+    /** Runs {@link #analyzeAll} on all available processors. */
     public RateLimitAnalyzer(List<RatePolicy> policies) {
-        this.policies = policies;
+        this(policies, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Runs {@link #analyzeAll} on {@code parallelism} threads. */
+    public RateLimitAnalyzer(List<RatePolicy> policies, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.evaluator = new FusedPolicyEvaluator(policies);
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
     }
 
+    /**
+     * Evaluates all policies in a single pass over the log.
+     * @throws CancellationException if the thread is interrupted before the
+     *         evaluation completes
+     */
     public AbuseReport analyze(RequestLog log) {
+        long start = System.nanoTime();
         AbuseReport report = new AbuseReport(log.getClientId());
+        evaluator.evaluate(log, report);
+        latency.recordNanos(System.nanoTime() - start);
+        return report;
+    }
 
-        for (RatePolicy policy : policies) {
-            policy.evaluate(log, report);
+    /**
+     * Analyzes every log on the analyzer's fork-join pool. Policies keep no
+     * state between evaluations, so logs are analyzed independently; the
+     * reports are keyed by client id in the iteration order of {@code logs},
+     * whatever order the workers finish in.
+     * @throws CancellationException if the calling thread is interrupted; the
+     *         workers stop at the next log
+     */
+    public Map<String, AbuseReport> analyzeAll(Collection<RequestLog> logs) {
+        RequestLog[] input = logs.toArray(new RequestLog[0]);
+        AbuseReport[] reports = new AbuseReport[input.length];
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AnalyzeTask task = new AnalyzeTask(this, input, reports, 0, input.length, cancelled);
+
+        if (pool == null || input.length <= LOGS_PER_TASK) {
+            task.compute();
+        } else {
+            try {
+                pool.submit(task).get();
+            } catch (InterruptedException e) {
+                cancelled.set(true);
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Analysis was interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("Analysis failed", e.getCause());
+            }
         }
 
-        return report;
+        Map<String, AbuseReport> result = new LinkedHashMap<>();
+        for (AbuseReport report : reports) {
+            result.put(report.getClientId(), report);
+        }
+        return result;
+    }
+
+    public Duration getLongestWindow() {
+        return evaluator.getWindow();
+    }
+
+    /** Time spent in {@link #analyze}, per log. */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /** Releases the worker threads; sweeps already running finish first. */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /** Splits the log range in halves until it is small enough to analyze in one go. */
+    private static class AnalyzeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RateLimitAnalyzer analyzer;
+        private final RequestLog[] logs;
+        private final AbuseReport[] reports;
+        private final int from;
+        private final int to;
+        private final AtomicBoolean cancelled;
+
+        AnalyzeTask(RateLimitAnalyzer analyzer, RequestLog[] logs, AbuseReport[] reports, int from, int to,
+                    AtomicBoolean cancelled) {
+            this.analyzer = analyzer;
+            this.logs = logs;
+            this.reports = reports;
+            this.from = from;
+            this.to = to;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LOGS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    // the caller's interrupt arrives through the flag; the thread's own
+                    // flag covers the sequential path
+                    if (cancelled.get() || Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("Analysis was interrupted");
+                    }
+                    reports[i] = analyzer.analyze(logs[i]);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new AnalyzeTask(analyzer, logs, reports, from, middle, cancelled),
+                new AnalyzeTask(analyzer, logs, reports, middle, to, cancelled)
+            );
+        }
     }
 }
\ No newline at end of file
@@ -1,114 +1,169 @@
 package com.async_alpha.api_simulator.service;
 
+import com.async_alpha.api_simulator.jfr.EnforcerDecisionEvent;
+import com.async_alpha.api_simulator.limiter.RateLimiter;
+import com.async_alpha.api_simulator.limiter.SlidingLogLimiter;
+import com.async_alpha.api_simulator.metrics.DecisionMetrics;
 import com.async_alpha.api_simulator.model.*;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 
 public class RateLimitEnforcer {
 
-    private final int maxRequests;
-    private final Duration timeWindow;
+    private final RateLimiter limiter;
     private final RequestLogger requestLogger;
+    private final ClientRegistry registry;
+    private final ClientLocks locks = new ClientLocks();
+    private final DecisionMetrics metrics;
 
     public RateLimitEnforcer(int maxRequests, Duration timeWindow, RequestLogger requestLogger) {
-        this.maxRequests = maxRequests;
-        this.timeWindow = timeWindow;
+        this(new SlidingLogLimiter(maxRequests, timeWindow), requestLogger);
+    }
+
+    /**
+     * Enforcer that addresses clients through the logger's registry.
+     * @param limiter enforcement algorithm, e.g. the default {@link SlidingLogLimiter},
+     *                a burst-tolerant token bucket, GCRA or a sliding window counter
+     */
+    public RateLimitEnforcer(RateLimiter limiter, RequestLogger requestLogger) {
+        this(limiter, requestLogger, requestLogger != null ? requestLogger.getRegistry() : ClientRegistry.getDefault());
+    }
+
+    /**
+     * Enforcer that keeps no request history, for large headless simulations
+     * where only the limiter's own per-client state should stay on the heap.
+     */
+    public RateLimitEnforcer(RateLimiter limiter) {
+        this(limiter, null);
+    }
+
+    /**
+     * @param requestLogger logger for allowed requests, or null to keep no history
+     * @param registry      registry whose indices address the limiter's and the
+     *                      metrics' per-client state; a limiter belongs to one registry
+     */
+    public RateLimitEnforcer(RateLimiter limiter, RequestLogger requestLogger, ClientRegistry registry) {
+        this.limiter = limiter;
         this.requestLogger = requestLogger;
+        this.registry = registry;
+        this.metrics = new DecisionMetrics(registry);
     }
 
     /**
-     * Check if request should be allowed or blocked based on rate limit
+     * Check if request should be allowed or blocked based on rate limit. A client
+     * that was never seen is allowed; looking it up does not register it.
      * @return true if request should be BLOCKED, false if ALLOWED
      */
     public boolean shouldBlock(ServiceRequest request) {
-        RequestLog log = requestLogger.getLog(request.getClientId());
-        
-        if (log == null || log.getRequests().isEmpty()) {
-            return false; // No previous requests, allow it
-        }
-
-        LocalDateTime now = request.getTimestamp();
-        
-        long recentRequestCount = log.getRequests().stream()
-            .filter(r -> Duration.between(r.getTimestamp(), now).compareTo(timeWindow) <= 0)
-            .count();
-
-        return recentRequestCount >= maxRequests;
+        int clientIndex = registry.indexOf(request.getClientId());
+        return clientIndex >= 0
+            && limiter.wouldBlock(clientIndex, EpochTime.toNanos(request.getTimestamp()));
     }
 
     /**
-     * Process request with rate limiting
+     * Process request with rate limiting. Safe to call from many threads: the
+     * decision and the log append are atomic per client, and clients on
+     * different lock stripes never wait on each other. With a lock-free limiter
+     * no lock is taken at all; racing requests of one client may then reach the
+     * log in a slightly different order than they were decided.
      * @return RequestResult containing whether it was allowed/blocked
      */
     public RequestResult processRequest(ServiceRequest request) {
-        boolean blocked = shouldBlock(request);
-        
-        if (!blocked) {
-            requestLogger.logRequest(request);
+        long start = System.nanoTime();
+        EnforcerDecisionEvent event = new EnforcerDecisionEvent();
+        event.begin();
+
+        int clientIndex = request.getClientIndex(registry);
+        RequestResult result;
+        if (limiter.isLockFree()) {
+            result = decide(request, clientIndex);
+        } else {
+            synchronized (locks.forClient(clientIndex)) {
+                result = decide(request, clientIndex);
+            }
         }
 
-        return new RequestResult(request, blocked, getRemainingQuota(request.getClientId()));
+        metrics.record(clientIndex, request.getRequestType(), result.isBlocked(),
+            System.nanoTime() - start);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.clientId = request.getClientId();
+            event.blocked = result.isBlocked();
+            event.remainingQuota = result.getRemainingQuota();
+            event.limiter = limiter.getClass();
+            event.commit();
+        }
+        return result;
     }
 
-    public int getRemainingQuota(String clientId) {
-        RequestLog log = requestLogger.getLog(clientId);
-        
-        if (log == null || log.getRequests().isEmpty()) {
-            return maxRequests;
+    private RequestResult decide(ServiceRequest request, int clientIndex) {
+        long now = EpochTime.toNanos(request.getTimestamp());
+        boolean blocked = !limiter.tryAcquire(clientIndex, now);
+
+        if (!blocked && requestLogger != null) {
+            requestLogger.logRequest(request);
         }
 
-        LocalDateTime now = LocalDateTime.now();
-        
-        long recentCount = log.getRequests().stream()
-            .filter(r -> Duration.between(r.getTimestamp(), now).compareTo(timeWindow) <= 0)
-            .count();
+        Duration retryAfter = blocked
+            ? Duration.ofNanos(limiter.getNanosUntilReset(clientIndex, now))
+            : Duration.ZERO;
 
-        return Math.max(0, maxRequests - (int)recentCount);
+        return new RequestResult(request, blocked, limiter.getRemainingQuota(clientIndex, now), retryAfter);
     }
 
-    public Duration getTimeUntilReset(String clientId) {
-        RequestLog log = requestLogger.getLog(clientId);
-        
-        if (log == null || log.getRequests().isEmpty()) {
-            return Duration.ZERO;
-        }
+    /** Full quota for a client that was never seen; looking it up does not register it. */
+    public int getRemainingQuota(String clientId) {
+        int clientIndex = registry.indexOf(clientId);
+        return clientIndex < 0
+            ? limiter.getMaxRequests()
+            : limiter.getRemainingQuota(clientIndex, EpochTime.nowNanos());
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime oldestInWindow = now.minus(timeWindow);
-        
-        LocalDateTime oldestRequest = log.getRequests().stream()
-            .map(ServiceRequest::getTimestamp)
-            .filter(t -> t.isAfter(oldestInWindow))
-            .min(LocalDateTime::compareTo)
-            .orElse(now);
-
-        LocalDateTime resetTime = oldestRequest.plus(timeWindow);
-        
-        if (resetTime.isBefore(now)) {
-            return Duration.ZERO;
-        }
-        
-        return Duration.between(now, resetTime);
+    /** Zero for a client that was never seen; looking it up does not register it. */
+    public Duration getTimeUntilReset(String clientId) {
+        int clientIndex = registry.indexOf(clientId);
+        return clientIndex < 0
+            ? Duration.ZERO
+            : Duration.ofNanos(limiter.getNanosUntilReset(clientIndex, EpochTime.nowNanos()));
     }
 
     public int getMaxRequests() {
-        return maxRequests;
+        return limiter.getMaxRequests();
     }
 
     public Duration getTimeWindow() {
-        return timeWindow;
+        return limiter.getTimeWindow();
+    }
+
+    public RateLimiter getLimiter() {
+        return limiter;
+    }
+
+    public ClientRegistry getRegistry() {
+        return registry;
+    }
+
+    /** Allowed/blocked counters and decision latency of {@link #processRequest}. */
+    public DecisionMetrics getMetrics() {
+        return metrics;
     }
 
     public static class RequestResult {
         private final ServiceRequest request;
         private final boolean blocked;
         private final int remainingQuota;
+        private final Duration retryAfter;
 
         public RequestResult(ServiceRequest request, boolean blocked, int remainingQuota) {
+            this(request, blocked, remainingQuota, Duration.ZERO);
+        }
+
+        public RequestResult(ServiceRequest request, boolean blocked, int remainingQuota, Duration retryAfter) {
             this.request = request;
             this.blocked = blocked;
             this.remainingQuota = remainingQuota;
+            this.retryAfter = retryAfter;
         }
 
         public ServiceRequest getRequest() {
@@ -127,12 +182,18 @@ public class RateLimitEnforcer {
             return remainingQuota;
         }
 
+        /** How long a blocked client has to wait before its next request fits. */
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
         public String getStatusMessage() {
             if (blocked) {
-                return "⛔ REQUEST BLOCKED - Rate limit exceeded";
+                return String.format("⛔ REQUEST BLOCKED - Rate limit exceeded, retry after %.1fs",
+                    retryAfter.toMillis() / 1000.0);
             } else {
                 return "✅ REQUEST ALLOWED - Remaining quota: " + remainingQuota;
             }
         }
     }
-}
\ No newline at end of file
+}
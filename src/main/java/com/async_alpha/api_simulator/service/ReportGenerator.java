@@ -13,7 +13,7 @@ public class ReportGenerator {
                 """.formatted(
                 report.getClientId(),
                 report.getLevel(),
-                report.getViolations()
+                report.getViolationMessages()
         );
     }
 }
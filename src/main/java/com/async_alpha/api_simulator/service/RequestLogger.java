@@ -1,21 +1,147 @@
 package com.async_alpha.api_simulator.service;
 
 import com.async_alpha.api_simulator.model.*;
+import com.async_alpha.api_simulator.policy.RatePolicy;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class RequestLogger {
 
-    private final Map<String, RequestLog> logs = new HashMap<>();
+    private static final int MIN_SWEEP_INTERVAL = 1_024;
+
+    private final ClientRegistry registry;
+    private final ClientTable<RequestLog> logs = new ClientTable<>();
+    private final ClientLocks locks = new ClientLocks();
+    private final long retentionNanos;
+    private final AtomicLong appendsSinceSweep = new AtomicLong();
+
+    /** Logger that keeps every request forever. */
+    public RequestLogger() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * @param retention how far behind a client's newest request history is kept,
+     *                  usually {@link #retentionFor}; {@code Duration.ZERO} keeps everything
+     */
+    public RequestLogger(Duration retention) {
+        this(retention, ClientRegistry.getDefault());
+    }
+
+    /**
+     * @param registry registry the logger addresses its clients through; an
+     *                 enforcer built on this logger shares it
+     */
+    public RequestLogger(Duration retention, ClientRegistry registry) {
+        this.retentionNanos = retention.toNanos();
+        this.registry = registry;
+    }
+
+    /** Logger that keeps the history {@link #retentionFor} says the policies and enforcer need. */
+    public RequestLogger(List<? extends RatePolicy> policies, Duration enforcerWindow, ClientRegistry registry) {
+        this(retentionFor(policies, enforcerWindow), registry);
+    }
+
+    /**
+     * Longest window any of the given policies or the enforcer looks at, which is
+     * all the history analysis and enforcement ever need. Policies that count
+     * over the whole history see only what is retained.
+     */
+    public static Duration retentionFor(List<? extends RatePolicy> policies, Duration enforcerWindow) {
+        Duration longest = enforcerWindow;
+        for (RatePolicy policy : policies) {
+            if (policy.getWindow().compareTo(longest) > 0) {
+                longest = policy.getWindow();
+            }
+        }
+        return longest;
+    }
 
     public void logRequest(ServiceRequest request) {
-        logs
-          .computeIfAbsent(request.getClientId(), RequestLog::new)
-          .addRequest(request);
+        int clientIndex = request.getClientIndex(registry);
+        long time = EpochTime.toNanos(request.getTimestamp());
+
+        // appending under the client's lock keeps the sweep from evicting a log
+        // that is being written to
+        synchronized (locks.forClient(clientIndex)) {
+            RequestLog log = logs.get(clientIndex);
+            if (log == null) {
+                log = new RequestLog(request.getClientId());
+                logs.set(clientIndex, log);
+            }
+            log.add(time, request.getRequestType());
+            if (retentionNanos > 0) {
+                log.trimBefore(time - retentionNanos);
+            }
+        }
+
+        if (retentionNanos > 0) {
+            long appends = appendsSinceSweep.incrementAndGet();
+            if (appends >= Math.max(MIN_SWEEP_INTERVAL, registry.size())
+                    && appendsSinceSweep.compareAndSet(appends, 0)) {
+                evictIdleClients();
+            }
+        }
     }
 
     public RequestLog getLog(String clientId) {
-        return logs.get(clientId);
+        int clientIndex = registry.indexOf(clientId);
+        return clientIndex < 0 ? null : logs.get(clientIndex);
+    }
+
+    public RequestLog getLog(int clientIndex) {
+        return logs.get(clientIndex);
+    }
+
+    /**
+     * @return the logs of every client with retained history, in registration order
+     */
+    public List<RequestLog> getLogs() {
+        List<RequestLog> all = new ArrayList<>();
+        int clients = registry.size();
+        for (int i = 0; i < clients; i++) {
+            RequestLog log = logs.get(i);
+            if (log != null) {
+                all.add(log);
+            }
+        }
+        return all;
+    }
+
+    public ClientRegistry getRegistry() {
+        return registry;
+    }
+
+    public Duration getRetention() {
+        return Duration.ofNanos(retentionNanos);
+    }
+
+    /**
+     * Drops clients with nothing logged within the retention horizon of the newest
+     * request seen. Runs once every {@code max(1024, clients)} appends, so its
+     * cost is amortised O(1) per request.
+     */
+    private void evictIdleClients() {
+        int clients = registry.size();
+        long latest = Long.MIN_VALUE;
+        for (int i = 0; i < clients; i++) {
+            RequestLog log = logs.get(i);
+            if (log != null) {
+                latest = Math.max(latest, log.getLatestNanos());
+            }
+        }
+
+        long horizon = latest - retentionNanos;
+        for (int i = 0; i < clients; i++) {
+            synchronized (locks.forClient(i)) {
+                RequestLog log = logs.get(i);
+                if (log != null && log.getLatestNanos() < horizon) {
+                    logs.remove(i, log);
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,102 @@
+package com.async_alpha.api_simulator.service;
+
+import com.async_alpha.api_simulator.model.*;
+import com.async_alpha.api_simulator.policy.StreamingRatePolicy;
+
+import java.util.List;
+
+/**
+ * Live counterpart of {@link RateLimitAnalyzer}: requests are fed in as they
+ * arrive and each policy updates its own per-client state, so a report can be
+ * taken at any time without rescanning the client's history.
+ */
+public class StreamingRateLimitAnalyzer {
+
+    private final List<StreamingRatePolicy<?>> policies;
+    private final ClientRegistry registry;
+    private final ClientTable<ClientState> states = new ClientTable<>();
+
+    public StreamingRateLimitAnalyzer(List<StreamingRatePolicy<?>> policies) {
+        this(policies, ClientRegistry.getDefault());
+    }
+
+    /** @param registry registry whose indices are passed to {@link #onRequest(int, long, RequestType)} */
+    public StreamingRateLimitAnalyzer(List<StreamingRatePolicy<?>> policies, ClientRegistry registry) {
+        this.policies = policies;
+        this.registry = registry;
+    }
+
+    public void onRequest(ServiceRequest request) {
+        onRequest(request.getClientIndex(registry), EpochTime.toNanos(request.getTimestamp()), request.getRequestType());
+    }
+
+    /**
+     * Primitive form for replaying recorded traffic, e.g. from a request
+     * journal, without creating request objects.
+     */
+    public void onRequest(int clientIndex, long epochNanos, RequestType requestType) {
+        ClientState client = states.computeIfAbsent(clientIndex, index -> new ClientState(newStates()));
+
+        synchronized (client) {
+            // computed once here and shared by every policy
+            long sinceLast = client.requests == 0
+                ? StreamingRatePolicy.NO_PREVIOUS_REQUEST
+                : epochNanos - client.previousTime;
+
+            Object[] clientStates = client.policyStates;
+            for (int i = 0; i < clientStates.length; i++) {
+                policy(i).onRequest(epochNanos, sinceLast, requestType, clientStates[i]);
+            }
+            client.previousTime = epochNanos;
+            client.requests++;
+        }
+    }
+
+    public AbuseReport snapshot(String clientId) {
+        AbuseReport report = new AbuseReport(clientId);
+        int clientIndex = registry.indexOf(clientId);
+        ClientState client = clientIndex < 0 ? null : states.get(clientIndex);
+
+        if (client == null) {
+            return report;
+        }
+
+        synchronized (client) {
+            for (int i = 0; i < client.policyStates.length; i++) {
+                policy(i).snapshot(client.policyStates[i], report);
+            }
+        }
+
+        return report;
+    }
+
+    public void reset(String clientId) {
+        int clientIndex = registry.indexOf(clientId);
+        if (clientIndex >= 0) {
+            states.set(clientIndex, null);
+        }
+    }
+
+    private Object[] newStates() {
+        Object[] clientStates = new Object[policies.size()];
+        for (int i = 0; i < clientStates.length; i++) {
+            clientStates[i] = policies.get(i).newState();
+        }
+        return clientStates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private StreamingRatePolicy<Object> policy(int index) {
+        return (StreamingRatePolicy<Object>) policies.get(index);
+    }
+
+    private static class ClientState {
+        private final Object[] policyStates;
+        private long previousTime;
+        private long requests = 0;
+
+        ClientState(Object[] policyStates) {
+            this.policyStates = policyStates;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.async_alpha.api_simulator.simulation;
+
+import com.async_alpha.api_simulator.model.EpochTime;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * When a simulated client sends its next request, as the gap after the previous
+ * one. Implementations are stateless and shared by all clients; anything that
+ * depends on the client's history is derived from its request sequence number.
+ */
+@FunctionalInterface
+public interface ArrivalProcess {
+
+    /**
+     * @param sequence number of requests the client has sent so far
+     * @return nanoseconds until the client's next request, at least 1
+     */
+    long nextGapNanos(long sequence, SplittableRandom random);
+
+    /** Memoryless arrivals with exponentially distributed gaps. */
+    static ArrivalProcess poisson(double requestsPerSecond) {
+        double meanGap = EpochTime.NANOS_PER_SECOND / requestsPerSecond;
+        return (sequence, random) -> exponential(meanGap, random);
+    }
+
+    /** Perfectly regular arrivals, the worst case for window boundary effects. */
+    static ArrivalProcess constant(double requestsPerSecond) {
+        long gap = Math.max(1, Math.round(EpochTime.NANOS_PER_SECOND / requestsPerSecond));
+        return (sequence, random) -> gap;
+    }
+
+    /**
+     * Bursts of {@code burstSize} requests {@code spacing} apart, separated by
+     * exponentially distributed pauses so that bursts start at
+     * {@code burstsPerSecond} on average.
+     */
+    static ArrivalProcess bursty(int burstSize, Duration spacing, double burstsPerSecond) {
+        long spacingNanos = Math.max(1, spacing.toNanos());
+        double meanPause = EpochTime.NANOS_PER_SECOND / burstsPerSecond;
+        return (sequence, random) -> sequence % burstSize == 0
+            ? exponential(meanPause, random)
+            : spacingNanos;
+    }
+
+    private static long exponential(double mean, SplittableRandom random) {
+        return Math.max(1, (long) (-Math.log(1 - random.nextDouble()) * mean));
+    }
+}
@@ -0,0 +1,282 @@
+package com.async_alpha.api_simulator.simulation;
+
+import com.async_alpha.api_simulator.model.*;
+import com.async_alpha.api_simulator.service.ClientActivityTracker;
+import com.async_alpha.api_simulator.service.RateLimitEnforcer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless load generator: simulated clients send requests according to an
+ * {@link ArrivalProcess} and every request goes through the enforcer and the
+ * activity tracker, as fast as the machine allows.
+ *
+ * Clients are split into one shard per worker thread. A shard keeps its clients
+ * in a min-heap ordered by their next request time and replays them in virtual
+ * time, so the limiter sees the configured arrival pattern no matter how fast
+ * the workers run, and a thread per client is never needed. Each shard advances
+ * its own clock, but never more than {@value #MAX_CLOCK_SKEW_MILLIS} ms of virtual
+ * time ahead of the slowest one. Idle sweeps that age clients against the newest
+ * request seen, like the logger's and the activity tracker's, therefore never
+ * mistake the clients of a lagging shard for idle ones, as long as their
+ * retention is longer than that.
+ */
+public class TrafficEngine {
+
+    private static final RequestType[] TYPES = RequestType.values();
+    private static final int DEADLINE_CHECK_INTERVAL = 1_024;
+    private static final long MAX_CLOCK_SKEW_MILLIS = 100;
+    private static final long MAX_CLOCK_SKEW_NANOS = MAX_CLOCK_SKEW_MILLIS * 1_000_000;
+
+    private final RateLimitEnforcer enforcer;
+    private final ClientActivityTracker activityTracker;
+    private final ArrivalProcess arrivals;
+    private final ClientRegistry registry;
+
+    /**
+     * Simulated clients are registered in the enforcer's registry.
+     * @param activityTracker tracker fed with every decision, or null to skip tracking
+     */
+    public TrafficEngine(RateLimitEnforcer enforcer, ClientActivityTracker activityTracker, ArrivalProcess arrivals) {
+        this.enforcer = enforcer;
+        this.registry = enforcer.getRegistry();
+        this.activityTracker = activityTracker;
+        this.arrivals = arrivals;
+    }
+
+    /**
+     * Runs {@code clients} simulated clients on {@code threads} workers for
+     * {@code duration} of wall-clock time.
+     */
+    public Report run(int clients, int threads, Duration duration) throws InterruptedException {
+        if (clients < 1) {
+            throw new IllegalArgumentException("clients must be positive");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("duration must not be negative");
+        }
+
+        long startNanos = EpochTime.nowNanos();
+        List<Shard> shards = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            shards.add(new Shard(t, threads, clients, startNanos));
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            long wallStart = System.nanoTime();
+            long deadline = wallStart + duration.toNanos();
+
+            List<Future<?>> running = new ArrayList<>();
+            for (Shard shard : shards) {
+                running.add(workers.submit(() -> shard.run(deadline, shards)));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+
+            return new Report(clients, threads, shards, System.nanoTime() - wallStart, startNanos);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Traffic worker failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private class Shard {
+        private final Client[] clients;
+        private final long[] sequences;
+        private final long[] nextTimes;
+        private final int[] heap;  // positions into clients, ordered by nextTimes
+        private final SplittableRandom random;
+        private long allowed = 0;
+        private long blocked = 0;
+        private long lastTime;
+        private volatile long clock; // time of the next request, as seen by the other shards
+
+        Shard(int shard, int shards, int totalClients, long startNanos) {
+            int size = (totalClients - shard + shards - 1) / shards;
+            clients = new Client[size];
+            sequences = new long[size];
+            nextTimes = new long[size];
+            heap = new int[size];
+            random = new SplittableRandom(shard);
+            lastTime = startNanos;
+
+            for (int i = 0; i < size; i++) {
+                String clientId = "SIM_CLIENT_" + (shard + i * shards);
+                clients[i] = registry.register(clientId, clientId);
+                nextTimes[i] = startNanos + arrivals.nextGapNanos(0, random);
+                heap[i] = i;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+            clock = size > 0 ? nextTimes[heap[0]] : Long.MAX_VALUE;
+        }
+
+        void run(long deadline, List<Shard> shards) {
+            if (heap.length == 0) {
+                return;
+            }
+
+            try {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    long limit = slowestClock(shards) + MAX_CLOCK_SKEW_NANOS;
+                    int sent = 0;
+                    while (sent < DEADLINE_CHECK_INTERVAL && nextTimes[heap[0]] <= limit) {
+                        sendNext();
+                        sent++;
+                    }
+                    clock = nextTimes[heap[0]];
+                    if (sent == 0) {
+                        Thread.yield(); // too far ahead; let the slowest shard catch up
+                    }
+                }
+            } finally {
+                clock = Long.MAX_VALUE; // a stopped shard holds nobody back
+            }
+        }
+
+        /** Includes this shard, so the shard holding the minimum can always send. */
+        private long slowestClock(List<Shard> shards) {
+            long slowest = Long.MAX_VALUE;
+            for (Shard shard : shards) {
+                slowest = Math.min(slowest, shard.clock);
+            }
+            return slowest;
+        }
+
+        private void sendNext() {
+            int client = heap[0];
+            long time = nextTimes[client];
+            ServiceRequest request = new ServiceRequest(
+                clients[client],
+                TYPES[random.nextInt(TYPES.length)],
+                EpochTime.fromNanos(time)
+            );
+
+            boolean wasBlocked = enforcer.processRequest(request).isBlocked();
+            if (activityTracker != null) {
+                activityTracker.trackRequest(request, wasBlocked);
+            }
+            if (wasBlocked) {
+                blocked++;
+            } else {
+                allowed++;
+            }
+
+            lastTime = time;
+            sequences[client]++;
+            nextTimes[client] = time + arrivals.nextGapNanos(sequences[client], random);
+            siftDown(0);
+        }
+
+        private void siftDown(int position) {
+            int client = heap[position];
+            long time = nextTimes[client];
+            int half = heap.length >>> 1;
+
+            while (position < half) {
+                int child = 2 * position + 1;
+                if (child + 1 < heap.length && nextTimes[heap[child + 1]] < nextTimes[heap[child]]) {
+                    child++;
+                }
+                if (time <= nextTimes[heap[child]]) {
+                    break;
+                }
+                heap[position] = heap[child];
+                position = child;
+            }
+            heap[position] = client;
+        }
+    }
+
+    public static class Report {
+        private final int clients;
+        private final int threads;
+        private final long allowed;
+        private final long blocked;
+        private final long wallNanos;
+        private final long simulatedNanos;
+
+        private Report(int clients, int threads, List<Shard> shards, long wallNanos, long startNanos) {
+            long allowed = 0;
+            long blocked = 0;
+            long lastTime = startNanos;
+            for (Shard shard : shards) {
+                allowed += shard.allowed;
+                blocked += shard.blocked;
+                lastTime = Math.max(lastTime, shard.lastTime);
+            }
+
+            this.clients = clients;
+            this.threads = threads;
+            this.allowed = allowed;
+            this.blocked = blocked;
+            this.wallNanos = wallNanos;
+            this.simulatedNanos = lastTime - startNanos;
+        }
+
+        public int getClients() {
+            return clients;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public long getTotalRequests() {
+            return allowed + blocked;
+        }
+
+        public long getAllowedRequests() {
+            return allowed;
+        }
+
+        public long getBlockedRequests() {
+            return blocked;
+        }
+
+        public Duration getWallTime() {
+            return Duration.ofNanos(wallNanos);
+        }
+
+        /** Virtual time covered by the furthest shard. */
+        public Duration getSimulatedTime() {
+            return Duration.ofNanos(simulatedNanos);
+        }
+
+        /** Achieved decisions per wall-clock second. */
+        public double getThroughput() {
+            return getTotalRequests() * (double) EpochTime.NANOS_PER_SECOND / Math.max(1, wallNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%,d requests from %,d clients on %d threads in %.2fs (%.2fs simulated): "
+                    + "%,.0f req/s, %,d allowed, %,d blocked (%.1f%%)",
+                getTotalRequests(),
+                clients,
+                threads,
+                wallNanos / 1e9,
+                simulatedNanos / 1e9,
+                getThroughput(),
+                allowed,
+                blocked,
+                blocked * 100.0 / Math.max(1, getTotalRequests())
+            );
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.async_alpha.api_simulator.ui;
+
+import com.async_alpha.api_simulator.service.ClientActivityTracker.ActivityRecord;
+import com.async_alpha.api_simulator.service.ClientActivityTracker.ClientActivity;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only, windowed view of one client's activity records for a
+ * {@code TableView}. Each update appends only the records logged since the
+ * previous one and drops the oldest rows beyond the row cap, so refreshing the
+ * table costs O(new rows) instead of re-copying the whole history.
+ */
+public class ActivityWindow {
+
+    private static final int DEFAULT_ROW_CAP = 1_000;
+
+    private final int rowCap;
+    private final ObservableList<ActivityRecord> items = FXCollections.observableArrayList();
+    private final List<ActivityRecord> fresh = new ArrayList<>();
+    private ClientActivity activity;
+    private int sequence = 0;
+
+    public ActivityWindow() {
+        this(DEFAULT_ROW_CAP);
+    }
+
+    public ActivityWindow(int rowCap) {
+        if (rowCap < 1) {
+            throw new IllegalArgumentException("rowCap must be positive");
+        }
+        this.rowCap = rowCap;
+    }
+
+    public ObservableList<ActivityRecord> getItems() {
+        return items;
+    }
+
+    public int getRowCap() {
+        return rowCap;
+    }
+
+    /**
+     * Shows {@code activity}, or nothing if it is {@code null}. Switching to
+     * another client reloads its newest {@code rowCap} records.
+     * @return whether rows were added
+     */
+    public boolean update(ClientActivity activity) {
+        if (activity != this.activity) {
+            this.activity = activity;
+            this.sequence = 0;
+            items.clear();
+        }
+        if (activity == null) {
+            return false;
+        }
+
+        fresh.clear();
+        sequence = activity.drainRecordsSince(sequence, rowCap, fresh);
+        if (fresh.isEmpty()) {
+            return false;
+        }
+
+        int overflow = items.size() + fresh.size() - rowCap;
+        if (overflow > 0) {
+            items.remove(0, overflow);
+        }
+        items.addAll(fresh);
+        fresh.clear();
+        return true;
+    }
+
+    /** Empties the table; records logged afterwards are still appended. */
+    public void clear() {
+        items.clear();
+    }
+}
@@ -0,0 +1,74 @@
+package com.async_alpha.api_simulator.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces refresh requests into at most one refresh per frame interval.
+ * {@link #requestRefresh()} only sets a dirty flag and may be called from any
+ * thread; an {@link AnimationTimer} drains the flag on the FX thread, so a
+ * thousand requests between two pulses cost one refresh.
+ */
+public class CoalescingRefresher {
+
+    private static final Duration DEFAULT_INTERVAL = Duration.ofMillis(33); // ~30 Hz
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final Runnable refresh;
+    private final long intervalNanos;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AnimationTimer timer;
+    private long lastRefresh = NEVER;
+
+    public CoalescingRefresher(Runnable refresh) {
+        this(refresh, DEFAULT_INTERVAL);
+    }
+
+    public CoalescingRefresher(Runnable refresh, Duration interval) {
+        this.refresh = refresh;
+        this.intervalNanos = interval.toNanos();
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(now);
+            }
+        };
+    }
+
+    /**
+     * Runs the timer only while {@code owner} is part of a scene, so a view
+     * that has been closed stops receiving pulses.
+     */
+    public CoalescingRefresher attachTo(Node owner) {
+        owner.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (newScene != null) {
+                timer.start();
+            } else {
+                timer.stop();
+            }
+        });
+        if (owner.getScene() != null) {
+            timer.start();
+        }
+        return this;
+    }
+
+    /** Marks the view stale; it is refreshed on one of the next pulses. */
+    public void requestRefresh() {
+        dirty.set(true);
+    }
+
+    private void onPulse(long now) {
+        if (lastRefresh != NEVER && now - lastRefresh < intervalNanos) {
+            return;
+        }
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        lastRefresh = now;
+        refresh.run();
+    }
+}
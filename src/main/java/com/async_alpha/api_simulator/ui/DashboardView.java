@@ -1,5 +1,6 @@
 package com.async_alpha.api_simulator.ui;
 
+import com.async_alpha.api_simulator.metrics.LatencyHistogram;
 import com.async_alpha.api_simulator.model.*;
 import com.async_alpha.api_simulator.policy.*;
 import com.async_alpha.api_simulator.service.*;
@@ -8,9 +9,7 @@ import com.async_alpha.api_simulator.service.ClientActivityTracker.*;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.stage.FileChooser;
 
@@ -23,40 +22,43 @@ import java.util.List;
 
 public class DashboardView extends BorderPane {
 
-    private final RequestLogger logger = new RequestLogger();
+    private final RequestLogger logger;
     private final RateLimitEnforcer enforcer;
     private final ClientActivityTracker activityTracker;
     private final RateLimitAnalyzer analyzer;
     private final EnhancedReportGenerator reportGenerator;
 
-    private final TextArea logArea = new TextArea();
+    private final EventConsole eventConsole = new EventConsole();
 
     private final Label quotaLabel = new Label("Quota: --");
     private final Label totalReqLabel = new Label("0");
     private final Label allowedReqLabel = new Label("0");
     private final Label blockedReqLabel = new Label("0");
     private final Label successRateLabel = new Label("100%");
+    private final Label latencyLabel = new Label("--");
     private final Label riskLevelLabel = new Label("NORMAL");
+    private final CoalescingRefresher refresher = new CoalescingRefresher(this::refreshClientView);
     
     private TableView<ActivityRecord> activityTable;
+    private final ActivityWindow activityWindow = new ActivityWindow();
+    private final LatestWinsExecutor<String> riskAnalysis = new LatestWinsExecutor<>("risk-analysis");
     private ObservableList<ActivityRecord> activityData;
     
     private String currentClient = null;
 
     public DashboardView() {
-        enforcer = new RateLimitEnforcer(5, Duration.ofSeconds(10), logger);
-        activityTracker = new ClientActivityTracker();
+        List<RatePolicy> policies = DefaultPolicies.create();
+        Duration window = Duration.ofSeconds(10);
+
+        // only the history the policies and the enforcer look back over is kept
+        Duration retention = RequestLogger.retentionFor(policies, window);
+        logger = new RequestLogger(retention);
+        enforcer = new RateLimitEnforcer(5, window, logger);
+        activityTracker = new ClientActivityTracker(retention);
         reportGenerator = new EnhancedReportGenerator();
 
-        List<RatePolicy> policies = List.of(
-            new FixedWindowPolicy(5, Duration.ofSeconds(10)),
-            new SlidingWindowPolicy(5, Duration.ofSeconds(10)),
-            
-            new BurstDetectionPolicy(4, Duration.ofSeconds(3)),      
-            new AbnormalPatternPolicy(3),                             
-            new RetryAbusePolicy(8, Duration.ofSeconds(2))           
-        );
-        analyzer = new RateLimitAnalyzer(policies);
+        // the view only analyzes one log at a time, so it needs no worker pool
+        analyzer = new RateLimitAnalyzer(policies, 1);
 
   
         setTop(createTopBar());
@@ -64,10 +66,11 @@ public class DashboardView extends BorderPane {
         setBottom(createLogPanel());
 
         setPadding(new Insets(12));
+        refresher.attachTo(this);
         
-        logArea.appendText("API Rate-Limit & Abuse Simulator Started\n");
-        logArea.appendText("Advanced detection policies loaded\n");
-        logArea.appendText("System ready - Select a client to begin\n\n");
+        eventConsole.info("API Rate-Limit & Abuse Simulator Started");
+        eventConsole.info("Advanced detection policies loaded");
+        eventConsole.info("System ready - Select a client to begin");
     }
 
     /* ═══════════════════════════════════════════════════════════
@@ -138,12 +141,9 @@ public class DashboardView extends BorderPane {
 
         clientBox.setOnAction(e -> {
             currentClient = clientBox.getValue();
-            updateQuotaDisplay();
-            updateStatistics();
-            updateActivityTable();
-            updateRiskLevel();
+            refresher.requestRefresh();
             
-            logArea.appendText(String.format("👤 Client selected: %s\n", currentClient));
+            eventConsole.info(String.format("👤 Client selected: %s", currentClient));
         });
 
         sendBtn.setOnAction(e -> handleSendRequest(clientBox, typeBox));
@@ -171,8 +171,8 @@ public class DashboardView extends BorderPane {
 
         clearBtn.setOnAction(e -> {
             if (currentClient != null) {
-                logArea.appendText("⚠️ History cleared for " + currentClient + "\n");
-                activityData.clear();
+                eventConsole.warning("⚠️ History cleared for " + currentClient);
+                activityWindow.clear();
                 updateStatistics();
                 updateRiskLevel();
             } else {
@@ -223,12 +223,16 @@ public class DashboardView extends BorderPane {
         grid.add(new Label("Success Rate:"), 0, 3);
         grid.add(successRateLabel, 1, 3);
 
+        grid.add(new Label("Decision p99:"), 0, 4);
+        grid.add(latencyLabel, 1, 4);
+
         totalReqLabel.setStyle("-fx-font-weight: bold;");
         allowedReqLabel.setStyle("-fx-font-weight: bold;");
         allowedReqLabel.getStyleClass().add("status-ok");
         blockedReqLabel.setStyle("-fx-font-weight: bold;");
         blockedReqLabel.getStyleClass().add("status-danger");
         successRateLabel.setStyle("-fx-font-weight: bold;");
+        latencyLabel.setStyle("-fx-font-weight: bold;");
 
         VBox box = new VBox(8, statsTitle, grid);
         return box;
@@ -238,7 +242,7 @@ public class DashboardView extends BorderPane {
         title.getStyleClass().add("section-title");
 
         activityTable = new TableView<>();
-        activityData = FXCollections.observableArrayList();
+        activityData = activityWindow.getItems();
         activityTable.setItems(activityData);
 
         TableColumn<ActivityRecord, String> timeCol = new TableColumn<>("Time");
@@ -248,7 +252,9 @@ public class DashboardView extends BorderPane {
         timeCol.setPrefWidth(100);
 
         TableColumn<ActivityRecord, RequestType> typeCol = new TableColumn<>("Type");
-        typeCol.setCellValueFactory(new PropertyValueFactory<>("requestType"));
+        typeCol.setCellValueFactory(data ->
+            new javafx.beans.property.SimpleObjectProperty<>(data.getValue().getRequestType())
+        );
         typeCol.setPrefWidth(100);
         TableColumn<ActivityRecord, String> statusCol = new TableColumn<>("Status");
         statusCol.setCellValueFactory(data -> 
@@ -288,12 +294,9 @@ public class DashboardView extends BorderPane {
         Label title = new Label("📝 System Logs");
         title.getStyleClass().add("section-title");
 
-        logArea.setEditable(false);
-        logArea.getStyleClass().add("log-area");
-        logArea.setPrefRowCount(6);
-        logArea.setWrapText(true);
+        eventConsole.setPrefHeight(180);
 
-        VBox box = new VBox(8, title, logArea);
+        VBox box = new VBox(8, title, eventConsole);
         box.getStyleClass().add("card");
         return box;
     }
@@ -315,43 +318,41 @@ public class DashboardView extends BorderPane {
         
         activityTracker.trackRequest(req, result.isBlocked());
         
-        updateQuotaDisplay();
-        updateStatistics();
-        updateActivityTable();
-        updateRiskLevel();
+        refresher.requestRefresh();
         
         String statusIcon = result.isBlocked() ? "⛔" : "✅";
         String typeIcon = getRequestTypeIcon(req.getRequestType());
         
-        logArea.appendText(String.format(
-            "%s [%s] %s %s %s - %s | Quota: %d/%d%s\n",
-            statusIcon,
-            req.getTimestamp().format(java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss")),
-            typeIcon,
-            req.getClientId(),
-            req.getRequestType(),
-            result.isBlocked() ? "BLOCKED" : "ALLOWED",
-            result.getRemainingQuota(),
-            enforcer.getMaxRequests(),
-            result.isBlocked() ? " ⚠️ RATE LIMIT EXCEEDED" : ""
-        ));
-        
-        logArea.setScrollTop(Double.MAX_VALUE);
+        eventConsole.append(
+            result.isBlocked() ? EventConsole.Level.WARNING : EventConsole.Level.INFO,
+            String.format(
+                "%s [%s] %s %s %s - %s | Quota: %d/%d%s",
+                statusIcon,
+                req.getTimestamp().format(java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss")),
+                typeIcon,
+                req.getClientId(),
+                req.getRequestType(),
+                result.isBlocked() ? "BLOCKED" : "ALLOWED",
+                result.getRemainingQuota(),
+                enforcer.getMaxRequests(),
+                result.isBlocked() ? " ⚠️ RATE LIMIT EXCEEDED" : ""
+            )
+        );
     }
     private void generateFullReport(String clientId) {
         RequestLog log = logger.getLog(clientId);
         ClientActivity activity = activityTracker.getActivity(clientId);
         
         if (log == null && activity == null) {
-            logArea.appendText("❌ No data found for " + clientId + "\n");
+            eventConsole.error("❌ No data found for " + clientId);
             return;
         }
         
         AbuseReport abuseReport = log != null ? analyzer.analyze(log) : new AbuseReport(clientId);
         String report = reportGenerator.generateViolationReport(abuseReport, log, activity);
         showReportDialog("Full Violation Report - " + clientId, report);
-        logArea.appendText(String.format(
-            "Full report generated for %s - Severity: %s\n", 
+        eventConsole.info(String.format(
+            "Full report generated for %s - Severity: %s", 
             clientId, 
             abuseReport.getLevel()
         ));
@@ -362,8 +363,7 @@ public class DashboardView extends BorderPane {
         
         String report = reportGenerator.generateUsageReport(clientId, activity, log);
         
-        logArea.appendText("\n" + report);
-        logArea.setScrollTop(Double.MAX_VALUE);
+        eventConsole.info(report);
     }
 
     private void generateComparisonReport() {
@@ -372,10 +372,12 @@ public class DashboardView extends BorderPane {
             return;
         }
         
-        String report = reportGenerator.generateComparisonReport(activityTracker.getAllActivities());
+        String report = reportGenerator.generateComparisonReport(activityTracker.getAllActivities())
+            + "\n"
+            + reportGenerator.generatePerformanceReport(enforcer.getMetrics(), analyzer.getLatency());
         showReportDialog("Multi-Client Comparison Report", report);
         
-        logArea.appendText(" Multi-client comparison report generated\n");
+        eventConsole.info("Multi-client comparison report generated");
     }
     private void exportReportToFile(String clientId) {
         RequestLog log = logger.getLog(clientId);
@@ -402,14 +404,22 @@ public class DashboardView extends BorderPane {
         if (file != null) {
             try (FileWriter writer = new FileWriter(file)) {
                 writer.write(report);
-                logArea.appendText("Report exported to: " + file.getName() + "\n");
+                eventConsole.info("Report exported to: " + file.getName());
             } catch (IOException e) {
                 showAlert("Error exporting report: " + e.getMessage());
-                logArea.appendText(" Export failed: " + e.getMessage() + "\n");
+                eventConsole.error("Export failed: " + e.getMessage());
             }
         }
     }
 
+    /** Redraws everything that depends on the selected client; driven by {@link #refresher}. */
+    private void refreshClientView() {
+        updateQuotaDisplay();
+        updateStatistics();
+        updateActivityTable();
+        updateRiskLevel();
+    }
+
     private void updateQuotaDisplay() {
         if (currentClient == null) {
             quotaLabel.setText("Quota: --");
@@ -431,6 +441,8 @@ public class DashboardView extends BorderPane {
         }
     }
     private void updateStatistics() {
+        latencyLabel.setText(LatencyHistogram.formatNanos(enforcer.getMetrics().getLatency().getP99Nanos()));
+
         if (currentClient == null) {
             resetStatistics();
             return;
@@ -464,16 +476,24 @@ public class DashboardView extends BorderPane {
         }
 
         RequestLog log = logger.getLog(currentClient);
-        if (log == null || log.getRequests().isEmpty()) {
+        if (log == null || log.isEmpty()) {
+            riskAnalysis.cancel(currentClient);
             riskLevelLabel.setText("NORMAL");
             riskLevelLabel.getStyleClass().removeAll("status-ok", "status-warning", "status-danger");
             riskLevelLabel.getStyleClass().add("status-ok");
             return;
         }
 
-        AbuseReport report = analyzer.analyze(log);
-        ViolationLevel level = report.getLevel();
- 
+        // analysed off the FX thread; requests arriving during a run coalesce into one
+        String clientId = currentClient;
+        riskAnalysis.submit(clientId, () -> analyzer.analyze(log).getLevel(), level -> {
+            if (clientId.equals(currentClient)) {
+                showRiskLevel(level);
+            }
+        });
+    }
+
+    private void showRiskLevel(ViolationLevel level) {
         riskLevelLabel.setText(level.toString());
         riskLevelLabel.getStyleClass().removeAll("status-ok", "status-warning", "status-danger");
         
@@ -485,21 +505,10 @@ public class DashboardView extends BorderPane {
     }
 
     private void updateActivityTable() {
-        if (currentClient == null) {
-            activityData.clear();
-            return;
-        }
+        ClientActivity activity = currentClient == null ? null : activityTracker.getActivity(currentClient);
 
-        ClientActivity activity = activityTracker.getActivity(currentClient);
-        if (activity == null) {
-            activityData.clear();
-            return;
-        }
-
-        activityData.setAll(activity.getRecords());
-        
         // Scroll to bottom to show latest
-        if (!activityData.isEmpty()) {
+        if (activityWindow.update(activity)) {
             activityTable.scrollTo(activityData.size() - 1);
         }
     }
@@ -1,5 +1,6 @@
 package com.async_alpha.api_simulator.ui;
 
+import com.async_alpha.api_simulator.metrics.LatencyHistogram;
 import com.async_alpha.api_simulator.model.*;
 import com.async_alpha.api_simulator.policy.*;
 import com.async_alpha.api_simulator.service.*;
@@ -8,9 +9,7 @@ import com.async_alpha.api_simulator.service.ClientActivityTracker.*;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.stage.FileChooser;
 
@@ -23,46 +22,52 @@ import java.util.List;
 
 public class EnhancedDashboardView extends BorderPane {
 
-    private final RequestLogger logger = new RequestLogger();
+    private final RequestLogger logger;
     private final RateLimitEnforcer enforcer;
     private final ClientActivityTracker activityTracker;
     private final RateLimitAnalyzer analyzer;
     private final EnhancedReportGenerator reportGenerator;
 
-    private final TextArea logArea = new TextArea();
+    private final EventConsole eventConsole = new EventConsole();
     private final Label quotaLabel = new Label("Quota: --");
     private final Label totalReqLabel = new Label("0");
     private final Label allowedReqLabel = new Label("0");
     private final Label blockedReqLabel = new Label("0");
     private final Label successRateLabel = new Label("100%");
+    private final Label latencyLabel = new Label("--");
     private final Label riskLevelLabel = new Label("NORMAL");
+    private final CoalescingRefresher refresher = new CoalescingRefresher(this::refreshClientView);
     
     private TableView<ActivityRecord> activityTable;
+    private final ActivityWindow activityWindow = new ActivityWindow();
+    private final LatestWinsExecutor<String> riskAnalysis = new LatestWinsExecutor<>("risk-analysis");
     private ObservableList<ActivityRecord> activityData;
     
     private String currentClient = null;
 
     public EnhancedDashboardView() {
+        // Initialize with multiple detection policies
+        List<RatePolicy> policies = DefaultPolicies.create();
+        Duration window = Duration.ofSeconds(10);
+
+        // Keep only the history the policies and the enforcer look back over
+        Duration retention = RequestLogger.retentionFor(policies, window);
+        logger = new RequestLogger(retention);
+
         // Rate limit: 5 requests per 10 seconds
-        enforcer = new RateLimitEnforcer(5, Duration.ofSeconds(10), logger);
-        activityTracker = new ClientActivityTracker();
+        enforcer = new RateLimitEnforcer(5, window, logger);
+        activityTracker = new ClientActivityTracker(retention);
         reportGenerator = new EnhancedReportGenerator();
 
-        // Initialize with multiple detection policies
-        List<RatePolicy> policies = List.of(
-            new FixedWindowPolicy(5, Duration.ofSeconds(10)),
-            new SlidingWindowPolicy(5, Duration.ofSeconds(10)),
-            new BurstDetectionPolicy(4, Duration.ofSeconds(3)),  // 4 requests in 3 seconds = burst
-            new AbnormalPatternPolicy(3),  // Max 3 off-hours requests
-            new RetryAbusePolicy(8, Duration.ofSeconds(2))  // 8 consecutive rapid requests
-        );
-        analyzer = new RateLimitAnalyzer(policies);
+        // the view only analyzes one log at a time, so it needs no worker pool
+        analyzer = new RateLimitAnalyzer(policies, 1);
 
         setTop(createTopBar());
         setCenter(createMainContent());
         setBottom(createLogPanel());
 
         setPadding(new Insets(12));
+        refresher.attachTo(this);
     }
 
     /* ================= UI SECTIONS ================= */
@@ -132,10 +137,7 @@ public class EnhancedDashboardView extends BorderPane {
         // Event Handlers
         clientBox.setOnAction(e -> {
             currentClient = clientBox.getValue();
-            updateQuotaDisplay();
-            updateStatistics();
-            updateActivityTable();
-            updateRiskLevel();
+            refresher.requestRefresh();
         });
 
         addBtn.setOnAction(e -> {
@@ -157,23 +159,23 @@ public class EnhancedDashboardView extends BorderPane {
             activityTracker.trackRequest(req, result.isBlocked());
             
             // Update UI
-            updateQuotaDisplay();
-            updateStatistics();
-            updateActivityTable();
-            updateRiskLevel();
+            refresher.requestRefresh();
             
             // Log result
             String statusIcon = result.isBlocked() ? "⛔" : "✅";
             
-            logArea.appendText(String.format(
-                "%s [%s] %s - %s | Quota: %d/%d\n",
-                statusIcon,
-                req.getTimestamp().format(java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss")),
-                req.getClientId(),
-                result.isBlocked() ? "BLOCKED" : "ALLOWED",
-                result.getRemainingQuota(),
-                enforcer.getMaxRequests()
-            ));
+            eventConsole.append(
+                result.isBlocked() ? EventConsole.Level.WARNING : EventConsole.Level.INFO,
+                String.format(
+                    "%s [%s] %s - %s | Quota: %d/%d",
+                    statusIcon,
+                    req.getTimestamp().format(java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss")),
+                    req.getClientId(),
+                    result.isBlocked() ? "BLOCKED" : "ALLOWED",
+                    result.getRemainingQuota(),
+                    enforcer.getMaxRequests()
+                )
+            );
         });
 
         reportBtn.setOnAction(e -> {
@@ -209,8 +211,8 @@ public class EnhancedDashboardView extends BorderPane {
 
         clearBtn.setOnAction(e -> {
             if (currentClient != null) {
-                logArea.appendText("⚠️ History cleared for " + currentClient + "\n");
-                activityData.clear();
+                eventConsole.warning("⚠️ History cleared for " + currentClient);
+                activityWindow.clear();
                 updateStatistics();
                 updateRiskLevel();
             }
@@ -260,12 +262,16 @@ public class EnhancedDashboardView extends BorderPane {
         grid.add(new Label("Success Rate:"), 0, 3);
         grid.add(successRateLabel, 1, 3);
 
+        grid.add(new Label("Decision p99:"), 0, 4);
+        grid.add(latencyLabel, 1, 4);
+
         totalReqLabel.setStyle("-fx-font-weight: bold;");
         allowedReqLabel.setStyle("-fx-font-weight: bold;");
         allowedReqLabel.getStyleClass().add("status-ok");
         blockedReqLabel.setStyle("-fx-font-weight: bold;");
         blockedReqLabel.getStyleClass().add("status-danger");
         successRateLabel.setStyle("-fx-font-weight: bold;");
+        latencyLabel.setStyle("-fx-font-weight: bold;");
 
         VBox box = new VBox(8, statsTitle, grid);
         return box;
@@ -277,7 +283,7 @@ public class EnhancedDashboardView extends BorderPane {
 
         // Create table
         activityTable = new TableView<>();
-        activityData = FXCollections.observableArrayList();
+        activityData = activityWindow.getItems();
         activityTable.setItems(activityData);
 
         // Time column
@@ -289,7 +295,9 @@ public class EnhancedDashboardView extends BorderPane {
 
         // Type column
         TableColumn<ActivityRecord, RequestType> typeCol = new TableColumn<>("Type");
-        typeCol.setCellValueFactory(new PropertyValueFactory<>("requestType"));
+        typeCol.setCellValueFactory(data ->
+            new javafx.beans.property.SimpleObjectProperty<>(data.getValue().getRequestType())
+        );
         typeCol.setPrefWidth(100);
 
         // Status column
@@ -332,18 +340,23 @@ public class EnhancedDashboardView extends BorderPane {
         Label title = new Label("📝 System Logs");
         title.getStyleClass().add("section-title");
 
-        logArea.setEditable(false);
-        logArea.getStyleClass().add("log-area");
-        logArea.setPrefRowCount(6);
-        logArea.setWrapText(true);
+        eventConsole.setPrefHeight(180);
 
-        VBox box = new VBox(8, title, logArea);
+        VBox box = new VBox(8, title, eventConsole);
         box.getStyleClass().add("card");
         return box;
     }
 
     /* ================= HELPER METHODS ================= */
 
+    /** Redraws everything that depends on the selected client; driven by {@link #refresher}. */
+    private void refreshClientView() {
+        updateQuotaDisplay();
+        updateStatistics();
+        updateActivityTable();
+        updateRiskLevel();
+    }
+
     private void updateQuotaDisplay() {
         if (currentClient == null) {
             quotaLabel.setText("Quota: --");
@@ -367,6 +380,8 @@ public class EnhancedDashboardView extends BorderPane {
     }
 
     private void updateStatistics() {
+        latencyLabel.setText(LatencyHistogram.formatNanos(enforcer.getMetrics().getLatency().getP99Nanos()));
+
         if (currentClient == null) {
             totalReqLabel.setText("0");
             allowedReqLabel.setText("0");
@@ -407,16 +422,24 @@ public class EnhancedDashboardView extends BorderPane {
         }
 
         RequestLog log = logger.getLog(currentClient);
-        if (log == null || log.getRequests().isEmpty()) {
+        if (log == null || log.isEmpty()) {
+            riskAnalysis.cancel(currentClient);
             riskLevelLabel.setText("NORMAL");
             riskLevelLabel.getStyleClass().removeAll("status-ok", "status-warning", "status-danger");
             riskLevelLabel.getStyleClass().add("status-ok");
             return;
         }
 
-        AbuseReport report = analyzer.analyze(log);
-        ViolationLevel level = report.getLevel();
-        
+        // analysed off the FX thread; requests arriving during a run coalesce into one
+        String clientId = currentClient;
+        riskAnalysis.submit(clientId, () -> analyzer.analyze(log).getLevel(), level -> {
+            if (clientId.equals(currentClient)) {
+                showRiskLevel(level);
+            }
+        });
+    }
+
+    private void showRiskLevel(ViolationLevel level) {
         riskLevelLabel.setText(level.toString());
         riskLevelLabel.getStyleClass().removeAll("status-ok", "status-warning", "status-danger");
         
@@ -428,21 +451,12 @@ public class EnhancedDashboardView extends BorderPane {
     }
 
     private void updateActivityTable() {
-        if (currentClient == null) {
-            activityData.clear();
-            return;
-        }
+        ClientActivity activity = currentClient == null ? null : activityTracker.getActivity(currentClient);
 
-        ClientActivity activity = activityTracker.getActivity(currentClient);
-        if (activity == null) {
-            activityData.clear();
-            return;
-        }
-
-        activityData.setAll(activity.getRecords());
-        
         // Scroll to bottom to show latest
-        activityTable.scrollTo(activityData.size() - 1);
+        if (activityWindow.update(activity)) {
+            activityTable.scrollTo(activityData.size() - 1);
+        }
     }
 
     private void generateFullReport(String clientId) {
@@ -450,7 +464,7 @@ public class EnhancedDashboardView extends BorderPane {
         ClientActivity activity = activityTracker.getActivity(clientId);
         
         if (log == null && activity == null) {
-            logArea.appendText("No data found for " + clientId + "\n");
+            eventConsole.error("No data found for " + clientId);
             return;
         }
         
@@ -467,11 +481,13 @@ public class EnhancedDashboardView extends BorderPane {
         
         String report = reportGenerator.generateUsageReport(clientId, activity, log);
         
-        logArea.appendText("\n" + report);
+        eventConsole.info(report);
     }
 
     private void generateComparisonReport() {
-        String report = reportGenerator.generateComparisonReport(activityTracker.getAllActivities());
+        String report = reportGenerator.generateComparisonReport(activityTracker.getAllActivities())
+            + "\n"
+            + reportGenerator.generatePerformanceReport(enforcer.getMetrics(), analyzer.getLatency());
         showReportDialog("Multi-Client Comparison", report);
     }
 
@@ -500,7 +516,7 @@ public class EnhancedDashboardView extends BorderPane {
         if (file != null) {
             try (FileWriter writer = new FileWriter(file)) {
                 writer.write(report);
-                logArea.appendText("✅ Report exported to: " + file.getAbsolutePath() + "\n");
+                eventConsole.info("✅ Report exported to: " + file.getAbsolutePath());
             } catch (IOException e) {
                 showAlert("Error exporting report: " + e.getMessage());
             }
@@ -0,0 +1,271 @@
+package com.async_alpha.api_simulator.ui;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded event log shown in a virtualized {@link ListView}. Only the newest
+ * {@code capacity} events are kept, so the cost of an event stays the same
+ * however long the simulator runs.
+ *
+ * Events may be posted from any thread; they are queued and moved into the
+ * list once per frame. The queue is bounded by the same capacity and drops its
+ * oldest events, so a detached console or a runaway producer cannot grow it.
+ * Scrolling away from the bottom, by wheel, keyboard or scroll bar, pauses the
+ * console: the view stays where it is while new events keep filling the
+ * buffer, and scrolling back to the bottom or releasing the pause button
+ * catches up.
+ */
+public class EventConsole extends VBox {
+
+    public enum Level {
+        INFO,
+        WARNING,
+        ERROR
+    }
+
+    /** One console line. */
+    public static final class Event {
+        private final Level level;
+        private final String text;
+
+        Event(Level level, String text) {
+            this.level = level;
+            this.text = text;
+        }
+
+        public Level getLevel() {
+            return level;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 10_000;
+
+    private final int capacity;
+    private final ArrayDeque<Event> buffer;
+    private final ArrayDeque<Event> pending; // guarded by itself
+    private final ObservableList<Event> visible = FXCollections.observableArrayList();
+    private final CoalescingRefresher refresher = new CoalescingRefresher(this::drain);
+
+    private final ListView<Event> listView = new ListView<>(visible);
+    private final ComboBox<Level> levelBox = new ComboBox<>();
+    private final ToggleButton pauseButton = new ToggleButton("Pause");
+    private final Label statusLabel = new Label();
+    private int missed = 0;
+    private boolean autoScrolling = false;
+
+    public EventConsole() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EventConsole(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.buffer = new ArrayDeque<>(capacity);
+        this.pending = new ArrayDeque<>();
+
+        listView.getStyleClass().add("log-area");
+        listView.setCellFactory(view -> new EventCell());
+        listView.setPlaceholder(new Label("No events"));
+        listView.skinProperty().addListener((observable, oldSkin, skin) -> hookScrollBar());
+
+        levelBox.getItems().addAll(Level.values());
+        levelBox.setValue(Level.INFO);
+        levelBox.setOnAction(e -> rebuild());
+
+        pauseButton.selectedProperty().addListener((observable, wasPaused, paused) -> {
+            if (!paused) {
+                rebuild();
+            }
+            updateStatus();
+        });
+
+        HBox toolbar = new HBox(8, new Label("Level:"), levelBox, pauseButton, statusLabel);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+
+        setSpacing(6);
+        getChildren().addAll(toolbar, listView);
+        VBox.setVgrow(listView, Priority.ALWAYS);
+        refresher.attachTo(this);
+    }
+
+    public void info(String text) {
+        append(Level.INFO, text);
+    }
+
+    public void warning(String text) {
+        append(Level.WARNING, text);
+    }
+
+    public void error(String text) {
+        append(Level.ERROR, text);
+    }
+
+    /**
+     * Posts one event per line of {@code text}; leading and trailing blank
+     * lines are dropped. Safe to call from any thread.
+     */
+    public void append(Level level, String text) {
+        String[] lines = text.split("\n", -1);
+        int from = 0;
+        int to = lines.length;
+        while (from < to && lines[from].isBlank()) {
+            from++;
+        }
+        while (to > from && lines[to - 1].isBlank()) {
+            to--;
+        }
+        synchronized (pending) {
+            for (int i = from; i < to; i++) {
+                if (pending.size() == capacity) {
+                    pending.pollFirst();
+                }
+                pending.addLast(new Event(level, lines[i]));
+            }
+        }
+        refresher.requestRefresh();
+    }
+
+    public ListView<Event> getListView() {
+        return listView;
+    }
+
+    /** Moves queued events into the buffer and, unless paused, onto the screen. */
+    private void drain() {
+        Event[] batch;
+        synchronized (pending) {
+            batch = pending.toArray(new Event[0]);
+            pending.clear();
+        }
+
+        List<Event> shown = new ArrayList<>();
+        for (Event event : batch) {
+            if (buffer.size() == capacity) {
+                buffer.pollFirst();
+            }
+            buffer.addLast(event);
+            if (accepts(event)) {
+                shown.add(event);
+            }
+        }
+
+        if (pauseButton.isSelected()) {
+            missed += shown.size();
+            updateStatus();
+            return;
+        }
+        beginAutoScroll();
+        if (shown.size() >= capacity) {
+            visible.setAll(shown.subList(shown.size() - capacity, shown.size()));
+        } else {
+            int overflow = visible.size() + shown.size() - capacity;
+            if (overflow > 0) {
+                visible.remove(0, overflow);
+            }
+            visible.addAll(shown);
+        }
+        scrollToEnd();
+    }
+
+    /** Refills the view from the buffer, e.g. after the filter changed or the pause ended. */
+    private void rebuild() {
+        List<Event> shown = new ArrayList<>();
+        for (Event event : buffer) {
+            if (accepts(event)) {
+                shown.add(event);
+            }
+        }
+        beginAutoScroll();
+        visible.setAll(shown);
+        missed = 0;
+        updateStatus();
+        if (!pauseButton.isSelected()) {
+            scrollToEnd();
+        }
+    }
+
+    private boolean accepts(Event event) {
+        return event.level.compareTo(levelBox.getValue()) >= 0;
+    }
+
+    private void scrollToEnd() {
+        if (!visible.isEmpty()) {
+            listView.scrollTo(visible.size() - 1);
+        }
+    }
+
+    /**
+     * Marks the scroll bar movements caused by our own updates, which are laid
+     * out later in the same pulse, so they are not taken for the user scrolling.
+     */
+    private void beginAutoScroll() {
+        if (!autoScrolling) {
+            autoScrolling = true;
+            Platform.runLater(() -> autoScrolling = false);
+        }
+    }
+
+    private void hookScrollBar() {
+        for (Node node : listView.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                bar.valueProperty().addListener((observable, oldValue, value) -> onScrolled(bar));
+                return;
+            }
+        }
+    }
+
+    /** Pauses when the user leaves the bottom of the list and resumes when they return. */
+    private void onScrolled(ScrollBar bar) {
+        if (autoScrolling) {
+            return;
+        }
+        boolean atEnd = bar.getValue() >= bar.getMax();
+        if (pauseButton.isSelected() == atEnd) {
+            pauseButton.setSelected(!atEnd);
+        }
+    }
+
+    private void updateStatus() {
+        if (pauseButton.isSelected()) {
+            statusLabel.setText(missed > 0 ? String.format("Paused - %,d new", missed) : "Paused");
+        } else {
+            statusLabel.setText("");
+        }
+    }
+
+    private static class EventCell extends ListCell<Event> {
+        @Override
+        protected void updateItem(Event item, boolean empty) {
+            super.updateItem(item, empty);
+            getStyleClass().removeAll("event-warning", "event-error");
+            if (empty || item == null) {
+                setText(null);
+                return;
+            }
+            setText(item.text);
+            switch (item.level) {
+                case WARNING -> getStyleClass().add("event-warning");
+                case ERROR -> getStyleClass().add("event-error");
+                default -> { }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.async_alpha.api_simulator.ui;
+
+import javafx.application.Platform;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Runs work off the FX application thread and publishes the result back with
+ * {@link Platform#runLater}. Jobs are keyed, and each key has at most one job
+ * running and one waiting. Submitting replaces the waiting job, which never
+ * runs; a running job is left to finish and publish, and the waiting one
+ * starts after it. Results therefore publish in submission order and keep
+ * arriving even when submissions come faster than the work completes.
+ * {@link #cancel} drops everything for a key and interrupts a running job;
+ * work that checks the interrupt flag, like the analyzer, stops early.
+ */
+public class LatestWinsExecutor<K> {
+
+    private final ExecutorService executor;
+    // guarded by this
+    private final Map<K, Slot> slots = new HashMap<>();
+
+    public LatestWinsExecutor(String threadName) {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Computes {@code work} in the background and hands the result to
+     * {@code publish} on the FX thread. If a job for {@code key} is already
+     * running, this one waits for it, replacing any job still waiting.
+     */
+    public synchronized <T> void submit(K key, Callable<T> work, Consumer<? super T> publish) {
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+        Job<T> job = new Job<>(key, slot, work, publish);
+        if (slot.running == null) {
+            slot.running = job;
+            executor.execute(job);
+        } else {
+            slot.waiting = job;
+        }
+    }
+
+    /** Cancels the jobs for {@code key}, if any; nothing more is published for it. */
+    public synchronized void cancel(K key) {
+        Slot slot = slots.remove(key);
+        if (slot != null && slot.running != null) {
+            slot.running.cancel(true);
+        }
+    }
+
+    /** Called on the worker once the running job of {@code slot} has finished. */
+    private synchronized void finished(Slot slot) {
+        slot.running = slot.waiting;
+        slot.waiting = null;
+        if (slot.running != null) {
+            executor.execute(slot.running);
+        }
+    }
+
+    /** Called on the FX thread before publishing; false once the key was cancelled. */
+    private synchronized boolean current(K key, Slot slot) {
+        if (slots.get(key) != slot) {
+            return false;
+        }
+        if (slot.running == null) {
+            slots.remove(key);
+        }
+        return true;
+    }
+
+    private final class Slot {
+        Job<?> running;
+        Job<?> waiting;
+    }
+
+    private final class Job<T> extends FutureTask<T> {
+        private final K key;
+        private final Slot slot;
+        private final Consumer<? super T> publish;
+
+        Job(K key, Slot slot, Callable<T> work, Consumer<? super T> publish) {
+            super(work);
+            this.key = key;
+            this.slot = slot;
+            this.publish = publish;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            finished(slot);
+
+            T result;
+            try {
+                result = get();
+            } catch (InterruptedException | ExecutionException e) {
+                Platform.runLater(() -> {
+                    if (current(key, slot)) {
+                        throw new IllegalStateException("Background job failed for " + key, e.getCause());
+                    }
+                });
+                return;
+            }
+
+            Platform.runLater(() -> {
+                // checked on the FX thread, so a cancelled key never publishes
+                if (current(key, slot)) {
+                    publish.accept(result);
+                }
+            });
+        }
+    }
+}
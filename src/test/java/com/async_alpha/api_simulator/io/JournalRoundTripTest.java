@@ -0,0 +1,161 @@
+package com.async_alpha.api_simulator.io;
+
+import com.async_alpha.api_simulator.model.ClientRegistry;
+import com.async_alpha.api_simulator.model.EpochTime;
+import com.async_alpha.api_simulator.model.RequestType;
+import com.async_alpha.api_simulator.model.ServiceRequest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalRoundTripTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_789);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayReturnsEveryRecordInWriteOrder() throws IOException {
+        List<ServiceRequest> written = requests(10_000, 0);
+        write(written, 1_000);
+
+        JournalReader reader = new JournalReader(directory, new ClientRegistry());
+        assertEquals(10_000, reader.getRecordCount());
+        assertEquals(10, reader.getSegmentCount());
+        assertEquals(13, reader.getClientCount());
+
+        List<ServiceRequest> replayed = new ArrayList<>();
+        reader.replayRequests(replayed::add);
+        assertSameRequests(written, replayed);
+    }
+
+    @Test
+    void clientDictionaryListsEachClientOnceInFirstSeenOrder() throws IOException {
+        write(requests(100, 0), 1_000);
+
+        List<String> clients = Files.readAllLines(directory.resolve(JournalFormat.CLIENTS_FILE), StandardCharsets.UTF_8);
+        assertEquals(13, clients.size());
+        for (int i = 0; i < clients.size(); i++) {
+            assertEquals("CLIENT_" + i, clients.get(i));
+        }
+    }
+
+    @Test
+    void segmentsHaveFixedWidthRecordsAfterTheHeader() throws IOException {
+        write(requests(250, 0), 100);
+
+        assertEquals(JournalFormat.HEADER_SIZE + 100L * JournalFormat.RECORD_SIZE,
+            Files.size(JournalFormat.segmentPath(directory, 0)));
+        assertEquals(JournalFormat.HEADER_SIZE + 50L * JournalFormat.RECORD_SIZE,
+            Files.size(JournalFormat.segmentPath(directory, 2)));
+    }
+
+    @Test
+    void reopenedJournalContinuesInANewSegment() throws IOException {
+        List<ServiceRequest> first = requests(150, 0);
+        List<ServiceRequest> second = requests(150, 150);
+        write(first, 100);
+        write(second, 100);
+
+        JournalReader reader = new JournalReader(directory, new ClientRegistry());
+        assertEquals(4, reader.getSegmentCount());
+        assertEquals(13, reader.getClientCount());
+
+        List<ServiceRequest> written = new ArrayList<>(first);
+        written.addAll(second);
+        List<ServiceRequest> replayed = new ArrayList<>();
+        reader.replayRequests(replayed::add);
+        assertSameRequests(written, replayed);
+    }
+
+    @Test
+    void timeRangeReplayReturnsOnlyRecordsInRange() throws IOException {
+        List<ServiceRequest> written = requests(1_000, 0);
+        write(written, 64);
+
+        long from = EpochTime.toNanos(written.get(300).getTimestamp());
+        long to = EpochTime.toNanos(written.get(700).getTimestamp());
+        List<Long> times = new ArrayList<>();
+        new JournalReader(directory, new ClientRegistry()).replay(from, to, (client, time, type) -> times.add(time));
+
+        assertEquals(400, times.size());
+        assertEquals(from, (long) times.get(0));
+        assertEquals(EpochTime.toNanos(written.get(699).getTimestamp()), (long) times.get(399));
+    }
+
+    @Test
+    void unsealedFinalSegmentReplaysItsCompleteRecords() throws IOException {
+        List<ServiceRequest> written = requests(250, 0);
+        write(written, 100);
+
+        // a crash leaves the last segment unsealed, with its final record half written
+        Path last = JournalFormat.segmentPath(directory, 2);
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+            ByteBuffer unsealed = ByteBuffer.allocate(Long.BYTES).order(JournalFormat.ORDER).putLong(0, -1);
+            channel.write(unsealed, JournalFormat.COUNT_OFFSET);
+            channel.truncate(channel.size() - JournalFormat.RECORD_SIZE / 2);
+        }
+
+        JournalReader reader = new JournalReader(directory, new ClientRegistry());
+        assertEquals(249, reader.getRecordCount());
+
+        List<ServiceRequest> replayed = new ArrayList<>();
+        reader.replayRequests(replayed::add);
+        assertSameRequests(written.subList(0, 249), replayed);
+    }
+
+    @Test
+    void sealedSegmentShorterThanItsHeaderIsRejected() throws IOException {
+        write(requests(250, 0), 100);
+
+        Path last = JournalFormat.segmentPath(directory, 2);
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        assertThrows(IOException.class, () -> new JournalReader(directory, new ClientRegistry()));
+    }
+
+    private void write(List<ServiceRequest> requests, int recordsPerSegment) throws IOException {
+        try (JournalWriter writer = new JournalWriter(directory, recordsPerSegment, new ClientRegistry())) {
+            for (ServiceRequest request : requests) {
+                writer.append(request);
+            }
+        }
+    }
+
+    private static List<ServiceRequest> requests(int count, int first) {
+        List<ServiceRequest> requests = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            requests.add(new ServiceRequest(
+                "CLIENT_" + (i % 13),
+                RequestType.values()[i % RequestType.values().length],
+                START.plusNanos(i * 7_919_000L)
+            ));
+        }
+        return requests;
+    }
+
+    private static void assertSameRequests(List<ServiceRequest> expected, List<ServiceRequest> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getClientId(), actual.get(i).getClientId(), "record " + i);
+            assertEquals(expected.get(i).getRequestType(), actual.get(i).getRequestType(), "record " + i);
+            assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp(), "record " + i);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.async_alpha.api_simulator.io;
+
+import com.async_alpha.api_simulator.model.ClientRegistry;
+import com.async_alpha.api_simulator.model.RequestType;
+import com.async_alpha.api_simulator.model.ServiceRequest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonlRequestImporterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 15, 30, 250_000_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void importsEveryLineInFileOrder() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            lines.add(line("CLIENT_" + (i % 7), RequestType.values()[i % 4], START.plusNanos(i * 1_000_003L)));
+        }
+        Path file = write(String.join("\n", lines) + "\n");
+
+        ClientRegistry registry = new ClientRegistry();
+        List<ServiceRequest> imported = new ArrayList<>();
+        JsonlRequestImporter.Summary summary = new JsonlRequestImporter(4, registry).importFile(file, imported::add);
+
+        assertEquals(200, summary.getImported());
+        assertEquals(0, summary.getSkipped());
+        assertEquals(Files.size(file), summary.getBytes());
+        for (int i = 0; i < 200; i++) {
+            ServiceRequest request = imported.get(i);
+            assertEquals("CLIENT_" + (i % 7), request.getClientId());
+            assertEquals(RequestType.values()[i % 4], request.getRequestType());
+            assertEquals(START.plusNanos(i * 1_000_003L), request.getTimestamp());
+        }
+        assertEquals(7, registry.size());
+    }
+
+    @Test
+    void linesStraddlingChunkBoundariesAreImportedOnce() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            content.append(line("C" + i, RequestType.WRITE, START.plusSeconds(i))).append('\n');
+        }
+        Path file = write(content.toString());
+
+        // every chunk size splits lines at a different offset, down to one byte per chunk
+        for (long chunkSize : new long[] {1, 2, 7, 64, 100, 4_096}) {
+            List<ServiceRequest> imported = new ArrayList<>();
+            JsonlRequestImporter.Summary summary =
+                new JsonlRequestImporter(3, chunkSize, new ClientRegistry()).importFile(file, imported::add);
+
+            assertEquals(50, summary.getImported(), "chunk size " + chunkSize);
+            assertEquals(0, summary.getSkipped(), "chunk size " + chunkSize);
+            for (int i = 0; i < 50; i++) {
+                assertEquals("C" + i, imported.get(i).getClientId(), "chunk size " + chunkSize);
+                assertEquals(START.plusSeconds(i), imported.get(i).getTimestamp(), "chunk size " + chunkSize);
+            }
+        }
+    }
+
+    @Test
+    void lastLineWithoutNewlineIsImported() throws IOException {
+        Path file = write(line("A", RequestType.READ, START) + "\n" + line("B", RequestType.DELETE, START));
+
+        List<ServiceRequest> imported = new ArrayList<>();
+        new JsonlRequestImporter(1, 16, new ClientRegistry()).importFile(file, imported::add);
+
+        assertEquals(2, imported.size());
+        assertEquals("B", imported.get(1).getClientId());
+        assertEquals(RequestType.DELETE, imported.get(1).getRequestType());
+    }
+
+    @Test
+    void malformedLinesAreSkippedWithoutRegisteringTheirClients() throws IOException {
+        String valid = line("GOOD", RequestType.READ, START);
+        Path file = write(String.join("\n",
+            valid,
+            line("JUNK", RequestType.READ, START) + " trailing",
+            line("JUNK", RequestType.READ, START) + "}",
+            "{\"clientId\":\"BAD_TYPE\",\"requestType\":\"PATCH\",\"timestamp\":\"2024-01-01T10:15:30\"}",
+            "{\"clientId\":\"BAD_TIME\",\"requestType\":\"READ\",\"timestamp\":\"2024-13-01T10:15:30\"}",
+            "{\"clientId\":\"MISSING\",\"requestType\":\"READ\"}",
+            "{\"clientId\":\"UNTERMINATED\",\"requestType\":\"READ\"",
+            "not json",
+            "",
+            "   ",
+            valid
+        ) + "\n");
+
+        ClientRegistry registry = new ClientRegistry();
+        List<ServiceRequest> imported = new ArrayList<>();
+        JsonlRequestImporter.Summary summary = new JsonlRequestImporter(2, 32, registry).importFile(file, imported::add);
+
+        assertEquals(2, summary.getImported());
+        assertEquals(7, summary.getSkipped());
+        assertEquals("GOOD", imported.get(0).getClientId());
+        assertEquals("GOOD", imported.get(1).getClientId());
+        assertEquals(1, registry.size());
+        assertEquals(-1, registry.indexOf("JUNK"));
+    }
+
+    @Test
+    void unknownKeysAndEscapesAreHandled() throws IOException {
+        Path file = write(
+            "{ \"meta\": {\"tags\": [\"a\", \"}\"]}, \"clientId\": \"ESC\\\"APED\", "
+                + "\"requestType\": \"UPDATE\", \"latency\": 12.5, \"timestamp\": \"2024-01-01T10:15:30\" }\r\n"
+        );
+
+        List<ServiceRequest> imported = new ArrayList<>();
+        JsonlRequestImporter.Summary summary =
+            new JsonlRequestImporter(1, new ClientRegistry()).importFile(file, imported::add);
+
+        assertEquals(0, summary.getSkipped());
+        assertEquals(1, imported.size());
+        assertEquals("ESC\"APED", imported.get(0).getClientId());
+        assertEquals(RequestType.UPDATE, imported.get(0).getRequestType());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 15, 30), imported.get(0).getTimestamp());
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(directory.resolve("requests.jsonl"), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String line(String clientId, RequestType type, LocalDateTime timestamp) {
+        return "{\"clientId\":\"" + clientId + "\",\"requestType\":\"" + type + "\",\"timestamp\":\"" + timestamp + "\"}";
+    }
+}
@@ -0,0 +1,180 @@
+package com.async_alpha.api_simulator.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomicTokenBucketLimiterTest {
+
+    private static final long START = 1_700_000_000_000_000_000L;
+    private static final long MILLIS = 1_000_000L;
+    private static final long HOURS = 3_600_000 * MILLIS;
+    private static final long DAYS = 24 * HOURS;
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AtomicTokenBucketLimiter(0, 1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new AtomicTokenBucketLimiter(1 << 22, 1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new AtomicTokenBucketLimiter(10, 0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new AtomicTokenBucketLimiter(10, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new AtomicTokenBucketLimiter(10, 1, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void fullBucketAllowsCapacityThenBlocks() {
+        AtomicTokenBucketLimiter limiter = new AtomicTokenBucketLimiter(10, 1, Duration.ofMillis(100));
+
+        assertEquals(10, limiter.getRemainingQuota(0, START));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(0, START), "request " + i);
+        }
+        assertFalse(limiter.tryAcquire(0, START));
+        assertTrue(limiter.wouldBlock(0, START));
+        assertEquals(0, limiter.getRemainingQuota(0, START));
+        assertEquals(100 * MILLIS, limiter.getNanosUntilReset(0, START));
+    }
+
+    @Test
+    void refillsAtTheConfiguredRateUpToCapacity() {
+        AtomicTokenBucketLimiter limiter = new AtomicTokenBucketLimiter(10, 1, Duration.ofMillis(100));
+        drain(limiter, START);
+
+        assertFalse(limiter.tryAcquire(0, START + 99 * MILLIS));
+        assertTrue(limiter.tryAcquire(0, START + 100 * MILLIS));
+        assertFalse(limiter.tryAcquire(0, START + 100 * MILLIS));
+
+        assertEquals(3, limiter.getRemainingQuota(0, START + 400 * MILLIS));
+        assertEquals(10, limiter.getRemainingQuota(0, START + 60_000 * MILLIS));
+        assertEquals(0, limiter.getNanosUntilReset(0, START + 60_000 * MILLIS));
+    }
+
+    @Test
+    void frequentCallsDoNotLoseSlowRefill() {
+        AtomicTokenBucketLimiter limiter = new AtomicTokenBucketLimiter(1, 1, Duration.ofSeconds(1));
+        drain(limiter, START);
+
+        // fixed-point rounding may delay a token by a few microseconds, but never drops it
+        int allowed = 0;
+        for (long t = START + MILLIS; t <= START + 3_010 * MILLIS; t += MILLIS) {
+            if (limiter.tryAcquire(0, t)) {
+                allowed++;
+            }
+        }
+        assertEquals(3, allowed);
+    }
+
+    @Test
+    void clientsHaveIndependentBuckets() {
+        AtomicTokenBucketLimiter limiter = new AtomicTokenBucketLimiter(2, 1, Duration.ofSeconds(1));
+        drain(limiter, START);
+
+        assertTrue(limiter.tryAcquire(1, START));
+        assertEquals(1, limiter.getRemainingQuota(1, START));
+        assertEquals(2, limiter.getRemainingQuota(2, START));
+    }
+
+    @Test
+    void bucketKeepsWorkingPastTheRangeOfTheTimeField() {
+        AtomicTokenBucketLimiter limiter = new AtomicTokenBucketLimiter(10, 1, Duration.ofMillis(100));
+        drain(limiter, START);
+
+        // 42 bits of microseconds cover about 50 days; each step passes the rebase point
+        for (long t = START + 30 * DAYS; t <= START + 400 * DAYS; t += 30 * DAYS) {
+            assertEquals(10, limiter.getRemainingQuota(0, t));
+            drain(limiter, t);
+            assertFalse(limiter.tryAcquire(0, t + 99 * MILLIS));
+            assertTrue(limiter.tryAcquire(0, t + 100 * MILLIS));
+            assertFalse(limiter.tryAcquire(0, t + 100 * MILLIS));
+        }
+    }
+
+    @Test
+    void rebaseCarriesPartialTokensOver() {
+        // one token per hour: a drained bucket holds 720 of 1000 tokens after 30 days
+        AtomicTokenBucketLimiter limiter = new AtomicTokenBucketLimiter(1_000, 1, Duration.ofHours(1));
+        drain(limiter, START);
+
+        long later = START + 30 * DAYS;
+        assertTrue(limiter.tryAcquire(0, later));
+        assertEquals(719, limiter.getRemainingQuota(0, later));
+        assertEquals(720, limiter.getRemainingQuota(0, later + HOURS));
+        assertEquals(1_000, limiter.getRemainingQuota(0, later + 300 * HOURS));
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedCapacity() throws InterruptedException {
+        AtomicTokenBucketLimiter limiter = new AtomicTokenBucketLimiter(1_000, 1, Duration.ofSeconds(1));
+
+        assertEquals(1_000, acquireConcurrently(limiter, 8, 10_000, () -> START));
+        assertEquals(0, limiter.getRemainingQuota(0, START));
+    }
+
+    @Test
+    void concurrentAcquiresAcrossARebaseNeverExceedCapacity() throws InterruptedException {
+        AtomicTokenBucketLimiter limiter = new AtomicTokenBucketLimiter(1_000, 1, Duration.ofSeconds(1));
+        drain(limiter, START);
+
+        // every thread races to retire the bucket and install its replacement
+        long later = START + 30 * DAYS;
+        assertEquals(1_000, acquireConcurrently(limiter, 8, 10_000, () -> later));
+    }
+
+    @Test
+    void concurrentAcquiresStayWithinCapacityPlusRefill() throws InterruptedException {
+        AtomicTokenBucketLimiter limiter = new AtomicTokenBucketLimiter(100, 1, Duration.ofMillis(1));
+        AtomicLong clock = new AtomicLong(START);
+
+        long allowed = acquireConcurrently(limiter, 8, 20_000, () -> clock.addAndGet(1_000));
+
+        long refilled = (clock.get() - START) / MILLIS;
+        assertTrue(allowed <= 100 + refilled, allowed + " allowed, at most " + (100 + refilled));
+        assertTrue(allowed >= 100, allowed + " allowed, at least the initial 100");
+    }
+
+    private static void drain(AtomicTokenBucketLimiter limiter, long nowNanos) {
+        while (limiter.tryAcquire(0, nowNanos)) {
+            // empty the bucket
+        }
+    }
+
+    private interface Clock {
+        long nanos();
+    }
+
+    private static long acquireConcurrently(AtomicTokenBucketLimiter limiter, int threads, int attemptsPerThread,
+                                            Clock clock) throws InterruptedException {
+        LongAdder allowed = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+                    if (limiter.tryAcquire(0, clock.nanos())) {
+                        allowed.increment();
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return allowed.sum();
+    }
+}
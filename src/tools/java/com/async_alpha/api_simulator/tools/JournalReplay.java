@@ -0,0 +1,82 @@
+package com.async_alpha.api_simulator.tools;
+
+import com.async_alpha.api_simulator.io.JournalReader;
+import com.async_alpha.api_simulator.io.JournalWriter;
+import com.async_alpha.api_simulator.io.JsonlRequestImporter;
+import com.async_alpha.api_simulator.model.ClientRegistry;
+import com.async_alpha.api_simulator.model.ViolationLevel;
+import com.async_alpha.api_simulator.policy.DefaultPolicies;
+import com.async_alpha.api_simulator.service.StreamingRateLimitAnalyzer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Converts a JSON Lines dump into a binary request journal, or replays a
+ * journal against the dashboard policies at several threshold multipliers and
+ * prints the replay rate of each pass.
+ *
+ * Usage: JournalReplay record file.jsonl journalDir
+ *        JournalReplay replay journalDir
+ */
+public class JournalReplay {
+
+    private static final int[] MULTIPLIERS = {1, 2, 4};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("record")) {
+            record(Path.of(args[1]), Path.of(args[2]));
+        } else if (args.length == 2 && args[0].equals("replay")) {
+            replay(Path.of(args[1]));
+        } else {
+            System.err.println("Usage: JournalReplay record file.jsonl journalDir | replay journalDir");
+            System.exit(1);
+        }
+    }
+
+    private static void record(Path jsonl, Path directory) throws IOException {
+        ClientRegistry registry = new ClientRegistry();
+        try (JournalWriter writer = new JournalWriter(directory, registry)) {
+            JsonlRequestImporter.Summary summary = new JsonlRequestImporter(
+                Runtime.getRuntime().availableProcessors(), registry
+            ).importFile(jsonl, request -> {
+                try {
+                    writer.append(request);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            System.out.println(summary);
+        }
+    }
+
+    private static void replay(Path directory) throws IOException {
+        ClientRegistry registry = new ClientRegistry();
+        JournalReader reader = new JournalReader(directory, registry);
+        System.out.printf("%,d records from %,d clients in %d segments%n%n",
+            reader.getRecordCount(), reader.getClientCount(), reader.getSegmentCount());
+        System.out.printf("%-10s | %12s | %14s | %8s%n", "THRESHOLDS", "MILLIS", "RECORDS/S", "FLAGGED");
+
+        for (int multiplier : MULTIPLIERS) {
+            StreamingRateLimitAnalyzer analyzer = new StreamingRateLimitAnalyzer(DefaultPolicies.scaled(multiplier), registry);
+
+            long start = System.nanoTime();
+            reader.replay(analyzer::onRequest);
+            long elapsed = System.nanoTime() - start;
+
+            int flagged = 0;
+            for (int i = 0; i < registry.size(); i++) {
+                if (analyzer.snapshot(registry.getClientId(i)).getLevel() != ViolationLevel.NORMAL) {
+                    flagged++;
+                }
+            }
+
+            System.out.printf("%-10s | %12d | %,14.0f | %8d%n",
+                multiplier + "x",
+                elapsed / 1_000_000,
+                reader.getRecordCount() * 1e9 / elapsed,
+                flagged);
+        }
+    }
+}
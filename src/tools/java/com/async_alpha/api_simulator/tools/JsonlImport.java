@@ -0,0 +1,53 @@
+package com.async_alpha.api_simulator.tools;
+
+import com.async_alpha.api_simulator.io.JsonlRequestImporter;
+import com.async_alpha.api_simulator.limiter.SlidingLogLimiter;
+import com.async_alpha.api_simulator.model.ClientRegistry;
+import com.async_alpha.api_simulator.policy.DefaultPolicies;
+import com.async_alpha.api_simulator.service.RateLimitEnforcer;
+import com.async_alpha.api_simulator.service.RequestLogger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays a JSON Lines request dump through the enforcer and prints the import
+ * rate and how much of the traffic the default limit would have blocked. The
+ * logger keeps as much history as the enforcer or the dashboard policies need.
+ *
+ * Usage: JsonlImport file [parallelism]
+ */
+public class JsonlImport {
+
+    private static final int MAX_REQUESTS = 100;
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: JsonlImport file [parallelism]");
+            System.exit(1);
+        }
+
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        ClientRegistry registry = new ClientRegistry();
+        RateLimitEnforcer enforcer = new RateLimitEnforcer(
+            new SlidingLogLimiter(MAX_REQUESTS, WINDOW),
+            new RequestLogger(DefaultPolicies.create(), WINDOW, registry)
+        );
+        LongAdder blocked = new LongAdder();
+
+        JsonlRequestImporter.Summary summary = new JsonlRequestImporter(parallelism, registry).importFile(
+            Path.of(args[0]),
+            request -> {
+                if (enforcer.processRequest(request).isBlocked()) {
+                    blocked.increment();
+                }
+            }
+        );
+
+        System.out.println(summary);
+        System.out.printf("%,d blocked at %d requests per %ds%n", blocked.sum(), MAX_REQUESTS, WINDOW.getSeconds());
+    }
+}
@@ -0,0 +1,63 @@
+package com.async_alpha.api_simulator.tools;
+
+import com.async_alpha.api_simulator.limiter.SlidingLogLimiter;
+import com.async_alpha.api_simulator.model.ClientRegistry;
+import com.async_alpha.api_simulator.policy.DefaultPolicies;
+import com.async_alpha.api_simulator.policy.RatePolicy;
+import com.async_alpha.api_simulator.service.ClientActivityTracker;
+import com.async_alpha.api_simulator.service.RateLimitEnforcer;
+import com.async_alpha.api_simulator.service.RequestLogger;
+import com.async_alpha.api_simulator.simulation.ArrivalProcess;
+import com.async_alpha.api_simulator.simulation.TrafficEngine;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Drives the enforcer and activity tracker with synthetic traffic from many
+ * clients and prints the achieved throughput. History is only kept as long as
+ * the enforcer or the dashboard policies look back, and clients are registered
+ * in a registry of the run's own, so long runs stay within a fixed heap and
+ * leave nothing behind.
+ *
+ * Usage: TrafficSimulation [clients] [seconds] [threads] [poisson|constant|bursty] [requestsPerClientPerSecond]
+ */
+public class TrafficSimulation {
+
+    private static final int MAX_REQUESTS = 100;
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws InterruptedException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        String process = args.length > 3 ? args[3] : "poisson";
+        double rate = args.length > 4 ? Double.parseDouble(args[4]) : 20.0;
+
+        ArrivalProcess arrivals;
+        switch (process) {
+            case "poisson":
+                arrivals = ArrivalProcess.poisson(rate);
+                break;
+            case "constant":
+                arrivals = ArrivalProcess.constant(rate);
+                break;
+            case "bursty":
+                arrivals = ArrivalProcess.bursty(20, Duration.ofMillis(5), rate / 20);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown arrival process: " + process);
+        }
+
+        ClientRegistry registry = new ClientRegistry();
+        List<RatePolicy> policies = DefaultPolicies.create();
+        RequestLogger logger = new RequestLogger(policies, WINDOW, registry);
+        RateLimitEnforcer enforcer = new RateLimitEnforcer(new SlidingLogLimiter(MAX_REQUESTS, WINDOW), logger);
+        ClientActivityTracker tracker = new ClientActivityTracker(policies, WINDOW, registry);
+        TrafficEngine engine = new TrafficEngine(enforcer, tracker, arrivals);
+
+        System.out.printf("%s arrivals at %.1f req/s per client, limit %d per %ds%n",
+            process, rate, MAX_REQUESTS, WINDOW.getSeconds());
+        System.out.println(engine.run(clients, threads, Duration.ofSeconds(seconds)));
+    }
+}